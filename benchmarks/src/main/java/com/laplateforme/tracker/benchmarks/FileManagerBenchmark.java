@@ -0,0 +1,126 @@
+package com.laplateforme.tracker.benchmarks;
+
+import com.laplateforme.tracker.dao.StudentSource;
+import com.laplateforme.tracker.model.Student;
+import com.laplateforme.tracker.utils.FileManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the CSV and JSON export/import paths of {@link FileManager}
+ * on synthetic files of {@code rows} students.
+ *
+ * <p>One benchmark operation processes a whole file; the {@code rows} counter
+ * reports the same work in rows per second. Run with {@code -prof gc} and
+ * divide {@code gc.alloc.rate.norm} by {@code rows} for the allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FileManagerBenchmark {
+    private static final String[] FIRST_NAMES = {"Alice", "Bruno", "Chloé", "David", "Emma", "Farid", "Gabriel", "Hugo"};
+    private static final String[] LAST_NAMES = {"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand"};
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private final FileManager fileManager = new FileManager();
+    private Path directory;
+    private String csvInput;
+    private String jsonInput;
+    private String csvOutput;
+    private String jsonOutput;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        directory = Files.createTempDirectory("tracker-bench");
+        csvInput = directory.resolve("input.csv").toString();
+        jsonInput = directory.resolve("input.json").toString();
+        csvOutput = directory.resolve("output.csv").toString();
+        jsonOutput = directory.resolve("output.json").toString();
+
+        if (!fileManager.exportToCSV(students(rows), csvInput) || !fileManager.exportToJSON(students(rows), jsonInput)) {
+            throw new IOException("Unable to generate benchmark input in " + directory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean exportCSV(RowCounter counter) {
+        counter.rows += rows;
+        return fileManager.exportToCSV(students(rows), csvOutput);
+    }
+
+    @Benchmark
+    public boolean exportJSON(RowCounter counter) {
+        counter.rows += rows;
+        return fileManager.exportToJSON(students(rows), jsonOutput);
+    }
+
+    @Benchmark
+    public void importCSV(RowCounter counter, Blackhole blackhole) throws IOException {
+        counter.rows += rows;
+        fileManager.streamFromCSV(csvInput, blackhole::consume);
+    }
+
+    @Benchmark
+    public void importJSON(RowCounter counter, Blackhole blackhole) throws IOException {
+        counter.rows += rows;
+        fileManager.streamFromJSON(jsonInput, blackhole::consume);
+    }
+
+    /**
+     * Generates students on the fly so large row counts do not have to be held
+     * in memory; the export benchmarks then measure formatting and I/O only.
+     */
+    private static StudentSource students(int count) {
+        return consumer -> {
+            for (int i = 1; i <= count; i++) {
+                consumer.accept(new Student(i,
+                        FIRST_NAMES[i % FIRST_NAMES.length],
+                        LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length],
+                        18 + i % 12,
+                        (i % 201) / 10.0));
+            }
+        };
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.laplateforme.tracker.benchmarks;
+
+import com.laplateforme.tracker.metrics.LatencyHistogram;
+import com.laplateforme.tracker.utils.JsonWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for a running TrackerHttpServer.
+ *
+ * <p>Requests are started at a fixed arrival rate whatever the server's response
+ * times, picking each operation at random from a weighted mix. Latency is
+ * measured from the time a request was scheduled to be sent rather than from
+ * when it actually left, so a stalled server (or generator) shows up in the
+ * percentiles instead of silently lowering the load (coordinated omission).
+ *
+ * <p>Options are {@code --name=value}:
+ * <pre>
+ *   --url=http://localhost:8080   server under test
+ *   --rate=200                    requests started per second
+ *   --duration=60                 measured seconds
+ *   --warmup=10                   seconds run before measuring
+ *   --mix=login:5,list:5,get:40,search:15,sort:5,paginate:20,add:10
+ *   --maxId=1000                  ids used by get are drawn from 1..maxId
+ *   --timeout=10000               per-request timeout in milliseconds
+ *   --seed=42                     random seed, for a repeatable request sequence
+ *   --username=admin --password=admin123
+ *   --output=load-results.json    JSON report, for comparison across builds
+ * </pre>
+ */
+public final class LoadGenerator {
+    enum Operation { LOGIN, LIST, GET, SEARCH, SORT, PAGINATE, ADD }
+
+    private static final String[] SEARCH_FIELDS = {"first_name", "last_name", "age"};
+    private static final String[] SEARCH_NAMES = {"Alice", "Martin", "John", "Doe"};
+    private static final String[] SORT_FIELDS = {"id", "first_name", "last_name", "age", "grade"};
+
+    private final URI baseUri;
+    private final double rate;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final Map<Operation, Integer> mix;
+    private final int maxId;
+    private final Duration timeout;
+    private final long seed;
+    private final String username;
+    private final String password;
+
+    private final HttpClient client;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final Stats total = new Stats();
+    // Requests sent but not yet recorded, by sequence number
+    private final Map<Long, Pending> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong lastCompletion = new AtomicLong();
+    private long maxSendLagNanos;
+    private long timedOut;
+
+    LoadGenerator(Map<String, String> options) {
+        this.baseUri = URI.create(stripTrailingSlash(options.getOrDefault("url", "http://localhost:8080")));
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        this.mix = parseMix(options.getOrDefault("mix", "login:5,list:5,get:40,search:15,sort:5,paginate:20,add:10"));
+        this.maxId = Integer.parseInt(options.getOrDefault("maxId", "1000"));
+        this.timeout = Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout", "10000")));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.username = options.getOrDefault("username", "admin");
+        this.password = options.getOrDefault("password", "admin123");
+        if (rate <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || maxId < 1) {
+            throw new IllegalArgumentException("rate, duration and maxId must be positive and warmup not negative");
+        }
+
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        for (Operation operation : mix.keySet()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Unrecognized argument: " + arg + " (expected --name=value)");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadGenerator generator = new LoadGenerator(options);
+        double measuredSeconds = generator.run();
+        generator.printSummary(measuredSeconds);
+        String output = options.getOrDefault("output", "load-results.json");
+        try (Writer out = new FileWriter(output, StandardCharsets.UTF_8)) {
+            generator.writeJson(out, measuredSeconds);
+        }
+        System.out.println("Results written to " + output);
+    }
+
+    /**
+     * Runs the warm-up and measured phases, then waits for outstanding requests.
+     * Requests still unanswered a second past the timeout are cancelled and
+     * recorded as transport errors, so a stalled server cannot drop out of the
+     * results.
+     *
+     * @return the length of the measured phase in seconds, stretched to the
+     *         last response if the server was still catching up
+     */
+    double run() throws InterruptedException {
+        Random random = new Random(seed);
+        Operation[] table = weightedTable();
+        double intervalNanos = 1_000_000_000.0 / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        System.out.printf(Locale.ROOT, "Sending %.0f req/s to %s for %ds (+%ds warm-up)%n",
+                rate, baseUri, durationSeconds, warmupSeconds);
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended - measureFrom >= 0;
+            if (measured) {
+                maxSendLagNanos = Math.max(maxSendLagNanos, System.nanoTime() - intended);
+            }
+
+            Operation operation = table[random.nextInt(table.length)];
+            send(i, operation, buildRequest(operation, random, i), intended, measured);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos() + 1_000_000_000L;
+        while (!inFlight.isEmpty() && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        for (Map.Entry<Long, Pending> entry : inFlight.entrySet()) {
+            Pending pending = entry.getValue();
+            // A response arriving right now wins the removal and is recorded as usual
+            if (inFlight.remove(entry.getKey(), pending)) {
+                pending.response.cancel(true);
+                complete(pending, 0, System.nanoTime());
+                if (pending.measured) {
+                    timedOut++;
+                }
+            }
+        }
+        long measuredEnd = Math.max(end, lastCompletion.get());
+        return (measuredEnd - measureFrom) / 1e9;
+    }
+
+    private void send(long sequence, Operation operation, HttpRequest request, long intended, boolean measured) {
+        Pending pending = new Pending(operation, intended, measured);
+        inFlight.put(sequence, pending);
+        pending.response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        pending.response.whenComplete((response, error) -> {
+            if (inFlight.remove(sequence, pending)) {
+                complete(pending, error == null ? response.statusCode() : 0, System.nanoTime());
+            }
+        });
+    }
+
+    private void complete(Pending pending, int status, long now) {
+        if (!pending.measured) {
+            return;
+        }
+        long micros = (now - pending.intended) / 1000;
+        stats.get(pending.operation).record(micros, status);
+        total.record(micros, status);
+        lastCompletion.accumulateAndGet(now, (a, b) -> a == 0 || b - a > 0 ? b : a);
+    }
+
+    private HttpRequest buildRequest(Operation operation, Random random, long sequence) {
+        switch (operation) {
+            case LOGIN:
+                return post("/login", "username=" + encode(username) + "&password=" + encode(password));
+            case LIST:
+                return get("/students");
+            case GET:
+                return get("/students/" + (1 + random.nextInt(maxId)));
+            case SEARCH: {
+                String field = SEARCH_FIELDS[random.nextInt(SEARCH_FIELDS.length)];
+                String value = field.equals("age")
+                        ? Integer.toString(18 + random.nextInt(12))
+                        : SEARCH_NAMES[random.nextInt(SEARCH_NAMES.length)];
+                return get("/students?search=" + field + "&value=" + encode(value));
+            }
+            case SORT:
+                return get("/students?sort=" + SORT_FIELDS[random.nextInt(SORT_FIELDS.length)]
+                        + "&order=" + (random.nextBoolean() ? "asc" : "desc"));
+            case PAGINATE:
+                return get("/students?page=" + (1 + random.nextInt(10)) + "&size=20");
+            case ADD:
+                return post("/students", "firstName=Load&lastName=" + encode("Test" + sequence)
+                        + "&age=" + (18 + random.nextInt(12))
+                        + "&grade=" + (random.nextInt(201) / 10.0));
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private Operation[] weightedTable() {
+        int size = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] table = new Operation[size];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int n = 0; n < entry.getValue(); n++) {
+                table[i++] = entry.getKey();
+            }
+        }
+        return table;
+    }
+
+    private void printSummary(double seconds) {
+        System.out.printf(Locale.ROOT, "%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            printRow(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue(), seconds);
+        }
+        printRow("all", total, seconds);
+        if (timedOut > 0) {
+            System.out.printf(Locale.ROOT, "Warning: %d requests were still unanswered after the timeout"
+                    + " and are counted as errors%n", timedOut);
+        }
+        if (maxSendLagNanos > 1_000_000_000L / rate) {
+            System.out.printf(Locale.ROOT, "Warning: the generator fell up to %.1f ms behind schedule;"
+                    + " latencies still count from the intended send time%n", maxSendLagNanos / 1e6);
+        }
+    }
+
+    private static void printRow(String name, Stats s, double seconds) {
+        LatencyHistogram h = s.histogram;
+        System.out.printf(Locale.ROOT, "%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getCount(), s.errors.sum(), h.getCount() / seconds,
+                h.getValueAtQuantile(0.5) / 1000.0, h.getValueAtQuantile(0.9) / 1000.0,
+                h.getValueAtQuantile(0.99) / 1000.0, h.getValueAtQuantile(0.999) / 1000.0,
+                h.getMax() / 1000.0);
+    }
+
+    void writeJson(Writer out, double seconds) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject()
+                .name("url").value(baseUri.toString())
+                .name("targetRate").value(rate)
+                .name("durationSeconds").value(durationSeconds)
+                .name("warmupSeconds").value(warmupSeconds)
+                .name("measuredSeconds").value(round(seconds))
+                .name("maxSendLagMs").value(round(maxSendLagNanos / 1e6))
+                .name("timedOut").value(timedOut);
+        json.name("mix").beginObject();
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            json.name(entry.getKey().name().toLowerCase(Locale.ROOT)).value(entry.getValue());
+        }
+        json.endObject();
+        json.name("endpoints").beginObject();
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            json.name(entry.getKey().name().toLowerCase(Locale.ROOT));
+            writeStats(json, entry.getValue(), seconds);
+        }
+        json.endObject();
+        json.name("all");
+        writeStats(json, total, seconds);
+        json.endObject();
+        json.flush();
+        out.write('\n');
+    }
+
+    private static void writeStats(JsonWriter json, Stats s, double seconds) throws IOException {
+        LatencyHistogram h = s.histogram;
+        long count = h.getCount();
+        json.beginObject()
+                .name("count").value(count)
+                .name("errors").value(s.errors.sum())
+                .name("throughput").value(round(count / seconds))
+                .name("meanMs").value(count == 0 ? 0 : round(h.getSum() / 1000.0 / count))
+                .name("p50Ms").value(h.getValueAtQuantile(0.5) / 1000.0)
+                .name("p90Ms").value(h.getValueAtQuantile(0.9) / 1000.0)
+                .name("p99Ms").value(h.getValueAtQuantile(0.99) / 1000.0)
+                .name("p999Ms").value(h.getValueAtQuantile(0.999) / 1000.0)
+                .name("maxMs").value(h.getMax() / 1000.0);
+        json.name("status").beginObject();
+        for (Map.Entry<Integer, LongAdder> entry : new TreeMap<>(s.statuses).entrySet()) {
+            json.name(entry.getKey() == 0 ? "error" : entry.getKey().toString()).value(entry.getValue().sum());
+        }
+        json.endObject();
+        json.endObject();
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part + " (expected operation:weight)");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /** A request sent and not yet recorded. */
+    private static final class Pending {
+        private final Operation operation;
+        private final long intended;
+        private final boolean measured;
+        private volatile CompletableFuture<HttpResponse<Void>> response;
+
+        private Pending(Operation operation, long intended, boolean measured) {
+            this.operation = operation;
+            this.intended = intended;
+            this.measured = measured;
+        }
+    }
+
+    /** Latencies in microseconds, with a count per status code (0 for transport failures). */
+    private static final class Stats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long micros, int status) {
+            histogram.record(micros);
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status == 0 || status >= 500) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.laplateforme.tracker.controller;
+
+import com.laplateforme.tracker.database.DatabaseConnection;
+import com.laplateforme.tracker.database.QueryStats;
+import com.laplateforme.tracker.metrics.FlightRecorderControl;
+import com.laplateforme.tracker.server.AdmissionControl;
+import com.laplateforme.tracker.server.Bulkhead;
+import com.laplateforme.tracker.utils.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Operational endpoints under {@code /admin}. They are not subject to
+ * admission control, so they stay reachable while the server sheds load.
+ * Starting and stopping Flight Recorder recordings costs CPU and disk and
+ * returns process internals, so it is refused unless
+ * {@code tracker.jfr.adminEnabled} is set.
+ */
+public class AdminController implements HttpHandler {
+    private static final Logger LOGGER = Logger.getLogger(AdminController.class.getName());
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final int DEFAULT_QUERY_LIMIT = 10;
+    private static final boolean JFR_CONTROL_ENABLED = Boolean.parseBoolean(
+            System.getProperty("tracker.jfr.adminEnabled", "false"));
+    private final AdmissionControl admissionControl;
+    private final boolean recordingControlEnabled;
+    private final FlightRecorderControl flightRecorder = new FlightRecorderControl();
+    private final Router router;
+
+    public AdminController(AdmissionControl admissionControl) {
+        this(admissionControl, JFR_CONTROL_ENABLED);
+    }
+
+    AdminController(AdmissionControl admissionControl, boolean recordingControlEnabled) {
+        this.admissionControl = admissionControl;
+        this.recordingControlEnabled = recordingControlEnabled;
+        this.router = new Router()
+                .add("GET", "/admin/admission", (exchange, request) -> handleAdmission(exchange))
+                .add("GET", "/admin/queries", this::handleQueries)
+                .add("GET", "/admin/jfr", (exchange, request) -> handleRecordingStatus(exchange))
+                .add("POST", "/admin/jfr/start", recordingControl(this::handleStartRecording))
+                .add("POST", "/admin/jfr/stop", recordingControl((exchange, request) -> handleStopRecording(exchange)));
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        router.dispatch(exchange);
+    }
+
+    private Router.Handler recordingControl(Router.Handler handler) {
+        return (exchange, request) -> {
+            if (recordingControlEnabled) {
+                handler.handle(exchange, request);
+            } else {
+                HttpResponses.send(exchange, 403,
+                        "Flight recording control is disabled, start the server with -Dtracker.jfr.adminEnabled=true");
+            }
+        };
+    }
+
+    private void handleAdmission(HttpExchange exchange) throws IOException {
+        StringWriter buffer = new StringWriter(512);
+        JsonWriter json = new JsonWriter(buffer);
+        json.beginArray();
+        for (Bulkhead bulkhead : admissionControl.getBulkheads()) {
+            json.beginObject()
+                    .name("name").value(bulkhead.getName())
+                    .name("maxConcurrent").value(bulkhead.getMaxConcurrent())
+                    .name("maxQueued").value(bulkhead.getMaxQueued())
+                    .name("active").value(bulkhead.getActiveCount())
+                    .name("queued").value(bulkhead.getQueuedCount())
+                    .name("admitted").value(bulkhead.getAdmittedCount())
+                    .name("rejected").value(bulkhead.getRejectedCount())
+                    .name("timedOut").value(bulkhead.getTimedOutCount())
+                    .endObject();
+        }
+        json.endArray();
+        sendJson(exchange, json, buffer);
+    }
+
+    /**
+     * GET /admin/queries?limit=N: the N statements with the highest total time.
+     */
+    private void handleQueries(HttpExchange exchange, Request request) throws IOException {
+        int limit = DEFAULT_QUERY_LIMIT;
+        if (request.hasQuery("limit")) {
+            try {
+                limit = Integer.parseInt(request.query("limit"));
+            } catch (NumberFormatException e) {
+                HttpResponses.send(exchange, 400, "Invalid limit value");
+                return;
+            }
+            if (limit < 1) {
+                HttpResponses.send(exchange, 400, "Limit must be a positive integer");
+                return;
+            }
+        }
+
+        StringWriter buffer = new StringWriter(1024);
+        JsonWriter json = new JsonWriter(buffer);
+        json.beginArray();
+        for (QueryStats.Snapshot query : DatabaseConnection.getInstance().getQueryStats().top(limit)) {
+            json.beginObject()
+                    .name("sql").value(query.getSql())
+                    .name("count").value(query.getCount())
+                    .name("totalMs").value(millis(query.getTotalNanos()))
+                    .name("meanMs").value(millis(query.getTotalNanos() / Math.max(1, query.getCount())))
+                    .name("p50Ms").value(millis(query.getP50Nanos()))
+                    .name("p99Ms").value(millis(query.getP99Nanos()))
+                    .name("maxMs").value(millis(query.getMaxNanos()))
+                    .endObject();
+        }
+        json.endArray();
+        sendJson(exchange, json, buffer);
+    }
+
+    private void handleRecordingStatus(HttpExchange exchange) throws IOException {
+        StringWriter buffer = new StringWriter(128);
+        JsonWriter json = new JsonWriter(buffer);
+        Instant startTime = flightRecorder.getStartTime();
+        json.beginObject()
+                .name("controlEnabled").value(recordingControlEnabled)
+                .name("recording").value(startTime != null);
+        if (startTime != null) {
+            json.name("name").value(flightRecorder.getName())
+                    .name("startTime").value(startTime.toString());
+        }
+        json.endObject();
+        sendJson(exchange, json, buffer);
+    }
+
+    /**
+     * POST /admin/jfr/start?settings=default|profile: starts a Flight Recorder
+     * recording with the HTTP and database events enabled.
+     */
+    private void handleStartRecording(HttpExchange exchange, Request request) throws IOException {
+        String settings = request.hasQuery("settings") ? request.query("settings") : "default";
+        if (!settings.equals("default") && !settings.equals("profile")) {
+            HttpResponses.send(exchange, 400, "Unsupported settings. Use 'default' or 'profile'");
+            return;
+        }
+        try {
+            if (flightRecorder.start(settings) == null) {
+                HttpResponses.send(exchange, 409, "A recording is already running");
+                return;
+            }
+        } catch (ParseException | IOException | IllegalStateException e) {
+            LOGGER.log(Level.SEVERE, "Unable to start flight recording", e);
+            HttpResponses.send(exchange, 500, "Unable to start recording");
+            return;
+        }
+        handleRecordingStatus(exchange);
+    }
+
+    /**
+     * POST /admin/jfr/stop: stops the recording and sends the .jfr file back.
+     */
+    private void handleStopRecording(HttpExchange exchange) throws IOException {
+        Path file;
+        try {
+            file = flightRecorder.stop();
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.log(Level.SEVERE, "Unable to write flight recording", e);
+            HttpResponses.send(exchange, 500, "Unable to write recording");
+            return;
+        }
+        if (file == null) {
+            HttpResponses.send(exchange, 409, "No recording is running");
+            return;
+        }
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.getResponseHeaders().set("Content-Disposition",
+                    "attachment; filename=\"" + file.getFileName() + "\"");
+            exchange.sendResponseHeaders(200, Files.size(file));
+            try (OutputStream os = exchange.getResponseBody()) {
+                Files.copy(file, os);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1e3) / 1e3;
+    }
+
+    private void sendJson(HttpExchange exchange, JsonWriter json, StringWriter buffer) throws IOException {
+        json.flush();
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        HttpResponses.send(exchange, 200, buffer.toString());
+    }
+}
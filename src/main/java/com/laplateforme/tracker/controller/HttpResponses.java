@@ -0,0 +1,129 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Shared response writing for the HTTP handlers, including gzip compression
+ * negotiated from the request's Accept-Encoding. Bodies smaller than
+ * {@code tracker.server.gzipMinSize} bytes are sent as is, compressing them
+ * costs more than it saves.
+ */
+public final class HttpResponses {
+    static final boolean GZIP_ENABLED = Boolean.parseBoolean(System.getProperty("tracker.server.gzip", "true"));
+    static final int GZIP_MIN_SIZE = Integer.getInteger("tracker.server.gzipMinSize", 1024);
+
+    private HttpResponses() {
+    }
+
+    public static void send(HttpExchange exchange, int statusCode, String response) throws IOException {
+        send(exchange, statusCode, response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void send(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        if (statusCode != 200) {
+            // The ETag set by notModified describes the representation, not an error
+            exchange.getResponseHeaders().remove("ETag");
+        }
+        if (body.length >= GZIP_MIN_SIZE && acceptsGzip(exchange)) {
+            body = gzip(body);
+            markGzipped(exchange);
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Sets the ETag of the current representation and, if the request's
+     * If-None-Match already names it, answers 304 Not Modified with no body.
+     * The tag only goes out on the 304 or a later 200; {@link #send} drops it
+     * from any other status.
+     *
+     * @return true if the 304 was sent and the handler has nothing left to do
+     */
+    public static boolean notModified(HttpExchange exchange, String etag) throws IOException {
+        exchange.getResponseHeaders().set("ETag", etag);
+        List<String> values = exchange.getRequestHeaders().get("If-None-Match");
+        if (values == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String value : values) {
+            for (String candidate : value.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        // If-None-Match uses weak comparison
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static boolean acceptsGzip(HttpExchange exchange) {
+        if (!GZIP_ENABLED) {
+            return false;
+        }
+        List<String> values = exchange.getRequestHeaders().get("Accept-Encoding");
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                    continue;
+                }
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !isZeroQuality(parts[1]);
+            }
+        }
+        return false;
+    }
+
+    // "q=0", "q=0.", "q=0.000"... without a regex, this runs for every response
+    private static boolean isZeroQuality(String parameter) {
+        String q = parameter.trim().replace(" ", "");
+        if (!q.startsWith("q=0")) {
+            return false;
+        }
+        if (q.length() == 3) {
+            return true;
+        }
+        if (q.charAt(3) != '.') {
+            return false;
+        }
+        for (int i = 4; i < q.length(); i++) {
+            if (q.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void markGzipped(HttpExchange exchange) {
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+package com.laplateforme.tracker.controller;
+
+import com.laplateforme.tracker.dao.StudentCache;
+import com.laplateforme.tracker.dao.StudentDAO;
+import com.laplateforme.tracker.database.ConnectionPool;
+import com.laplateforme.tracker.database.DatabaseConnection;
+import com.laplateforme.tracker.metrics.HttpMetrics;
+import com.laplateforme.tracker.server.AdmissionControl;
+import com.laplateforme.tracker.server.Bulkhead;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+
+/**
+ * GET /metrics: HTTP, admission control, connection pool and student cache
+ * metrics in the Prometheus text exposition format.
+ */
+public class MetricsController implements HttpHandler {
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private final AdmissionControl admissionControl;
+    private final Router router;
+
+    public MetricsController(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+        this.router = new Router()
+                .add("GET", "/metrics", (exchange, request) -> handleMetrics(exchange));
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        router.dispatch(exchange);
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        StringBuilder out = new StringBuilder(8192);
+        HttpMetrics.getInstance().writePrometheus(out);
+        writeAdmission(out);
+        writePool(out);
+        writeCache(out);
+        exchange.getResponseHeaders().set("Content-Type", PROMETHEUS_CONTENT_TYPE);
+        HttpResponses.send(exchange, 200, out.toString());
+    }
+
+    private void writeAdmission(StringBuilder out) {
+        out.append("# HELP tracker_admission_limit Requests a bulkhead runs at once.\n");
+        out.append("# TYPE tracker_admission_limit gauge\n");
+        for (Bulkhead bulkhead : admissionControl.getBulkheads()) {
+            HttpMetrics.sample(out, "tracker_admission_limit", label(bulkhead), bulkhead.getMaxConcurrent());
+        }
+        out.append("# HELP tracker_admission_active Requests running in a bulkhead.\n");
+        out.append("# TYPE tracker_admission_active gauge\n");
+        for (Bulkhead bulkhead : admissionControl.getBulkheads()) {
+            HttpMetrics.sample(out, "tracker_admission_active", label(bulkhead), bulkhead.getActiveCount());
+        }
+        out.append("# HELP tracker_admission_queued Requests waiting for a bulkhead slot.\n");
+        out.append("# TYPE tracker_admission_queued gauge\n");
+        for (Bulkhead bulkhead : admissionControl.getBulkheads()) {
+            HttpMetrics.sample(out, "tracker_admission_queued", label(bulkhead), bulkhead.getQueuedCount());
+        }
+        out.append("# HELP tracker_admission_rejected_total Requests shed with 503, by reason.\n");
+        out.append("# TYPE tracker_admission_rejected_total counter\n");
+        for (Bulkhead bulkhead : admissionControl.getBulkheads()) {
+            HttpMetrics.sample(out, "tracker_admission_rejected_total", label(bulkhead) + ",reason=\"queue_full\"",
+                    bulkhead.getRejectedCount());
+            HttpMetrics.sample(out, "tracker_admission_rejected_total", label(bulkhead) + ",reason=\"timeout\"",
+                    bulkhead.getTimedOutCount());
+        }
+    }
+
+    private void writePool(StringBuilder out) {
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+        if (pool == null) {
+            return;
+        }
+        out.append("# HELP tracker_db_pool_connections Database connections, by state.\n");
+        out.append("# TYPE tracker_db_pool_connections gauge\n");
+        HttpMetrics.sample(out, "tracker_db_pool_connections", "state=\"active\"", pool.getActiveCount());
+        HttpMetrics.sample(out, "tracker_db_pool_connections", "state=\"idle\"", pool.getIdleCount());
+        out.append("# HELP tracker_db_pool_max_connections Connection pool size limit.\n");
+        out.append("# TYPE tracker_db_pool_max_connections gauge\n");
+        HttpMetrics.sample(out, "tracker_db_pool_max_connections", "", pool.getMaxSize());
+    }
+
+    private void writeCache(StringBuilder out) {
+        StudentCache cache = StudentDAO.getCache();
+        out.append("# HELP tracker_student_cache_requests_total Student-by-id cache lookups, by result.\n");
+        out.append("# TYPE tracker_student_cache_requests_total counter\n");
+        HttpMetrics.sample(out, "tracker_student_cache_requests_total", "result=\"hit\"", cache.getHitCount());
+        HttpMetrics.sample(out, "tracker_student_cache_requests_total", "result=\"miss\"", cache.getMissCount());
+        out.append("# HELP tracker_student_cache_evictions_total Entries dropped for size or age.\n");
+        out.append("# TYPE tracker_student_cache_evictions_total counter\n");
+        HttpMetrics.sample(out, "tracker_student_cache_evictions_total", "", cache.getEvictionCount());
+        out.append("# HELP tracker_student_cache_entries Students currently cached.\n");
+        out.append("# TYPE tracker_student_cache_entries gauge\n");
+        HttpMetrics.sample(out, "tracker_student_cache_entries", "", cache.size());
+        out.append("# HELP tracker_student_cache_max_entries Student cache size limit.\n");
+        out.append("# TYPE tracker_student_cache_max_entries gauge\n");
+        HttpMetrics.sample(out, "tracker_student_cache_max_entries", "", cache.getMaxSize());
+    }
+
+    private static String label(Bulkhead bulkhead) {
+        return "bulkhead=\"" + HttpMetrics.escape(bulkhead.getName()) + "\"";
+    }
+}
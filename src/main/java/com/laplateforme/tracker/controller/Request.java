@@ -0,0 +1,69 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameters of a routed request: path parameters from the route template,
+ * the query string (parsed once, URL-decoded) and, on demand, a form body.
+ */
+class Request {
+    private final HttpExchange exchange;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> queryParams;
+    private Map<String, String> formParams;
+
+    Request(HttpExchange exchange, Map<String, String> pathParams) {
+        this.exchange = exchange;
+        this.pathParams = pathParams;
+        this.queryParams = parseParams(exchange.getRequestURI().getRawQuery());
+    }
+
+    String pathParam(String name) {
+        return pathParams.get(name);
+    }
+
+    String query(String name) {
+        return queryParams.get(name);
+    }
+
+    boolean hasQuery(String name) {
+        return queryParams.containsKey(name);
+    }
+
+    /** Reads and parses an {@code application/x-www-form-urlencoded} body, once. */
+    Map<String, String> form() throws IOException {
+        if (formParams == null) {
+            formParams = parseParams(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return formParams;
+    }
+
+    static Map<String, String> parseParams(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String param : raw.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq <= 0 || eq == param.length() - 1) {
+                continue;
+            }
+            params.put(decode(param.substring(0, eq)), decode(param.substring(eq + 1)));
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Malformed %-escape: keep the raw text rather than rejecting the request
+            return value;
+        }
+    }
+}
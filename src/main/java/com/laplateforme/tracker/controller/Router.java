@@ -0,0 +1,130 @@
+package com.laplateforme.tracker.controller;
+
+import com.laplateforme.tracker.metrics.HttpMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Route table built once at startup: maps an HTTP method and a path template
+ * such as {@code /students/{id}} to a handler. Templates are split into
+ * segments up front, so dispatching is a segment-by-segment comparison. A path
+ * matched by a route made only of literal segments belongs to those routes
+ * alone: {@code /students/statistics} wins over {@code /students/{id}}, and
+ * {@code PUT /students/statistics} is a 405 rather than an update of student
+ * "statistics".
+ */
+class Router {
+
+    @FunctionalInterface
+    interface Handler {
+        void handle(HttpExchange exchange, Request request) throws IOException;
+    }
+
+    private final List<Route> literalRoutes = new ArrayList<>();
+    private final List<Route> templateRoutes = new ArrayList<>();
+
+    Router add(String method, String template, Handler handler) {
+        Route route = new Route(method, template, handler);
+        (route.hasParameters ? templateRoutes : literalRoutes).add(route);
+        return this;
+    }
+
+    void dispatch(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] segments = split(exchange.getRequestURI().getPath());
+
+        Set<String> allowed = new LinkedHashSet<>();
+        for (List<Route> routes : List.of(literalRoutes, templateRoutes)) {
+            for (Route route : routes) {
+                Map<String, String> pathParams = route.match(segments);
+                if (pathParams == null) {
+                    continue;
+                }
+                if (route.method.equals(method)) {
+                    exchange.setAttribute(HttpMetrics.ROUTE_ATTRIBUTE, route.template);
+                    route.handler.handle(exchange, new Request(exchange, pathParams));
+                    return;
+                }
+                allowed.add(route.method);
+            }
+            if (!allowed.isEmpty()) {
+                // Known path, wrong method: templates must not reinterpret it
+                break;
+            }
+        }
+
+        if (allowed.isEmpty()) {
+            HttpResponses.send(exchange, 404, "Not Found");
+        } else {
+            exchange.getResponseHeaders().set("Allow", String.join(", ", allowed));
+            HttpResponses.send(exchange, 405, "Method Not Allowed");
+        }
+    }
+
+    // Runs on every request, so split by hand rather than through String.split's regex;
+    // empty segments are skipped, which trims the slashes at both ends and collapses "//"
+    static String[] split(String path) {
+        List<String> segments = new ArrayList<>(4);
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String template;
+        private final String[] segments;
+        // parameterNames[i] is non-null where segment i is a {placeholder}
+        private final String[] parameterNames;
+        private final boolean hasParameters;
+        private final Handler handler;
+
+        private Route(String method, String template, Handler handler) {
+            this.method = method;
+            this.template = template;
+            this.segments = split(template);
+            this.parameterNames = new String[segments.length];
+            boolean parameters = false;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    parameterNames[i] = segment.substring(1, segment.length() - 1);
+                    parameters = true;
+                }
+            }
+            this.hasParameters = parameters;
+            this.handler = handler;
+        }
+
+        private Map<String, String> match(String[] path) {
+            if (path.length != segments.length) {
+                return null;
+            }
+            Map<String, String> params = hasParameters ? new HashMap<>(4) : Map.of();
+            for (int i = 0; i < segments.length; i++) {
+                if (parameterNames[i] != null) {
+                    params.put(parameterNames[i], path[i]);
+                } else if (!segments[i].equals(path[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response body of unknown length. The first {@link HttpResponses#GZIP_MIN_SIZE}
+ * bytes are held back: if the body ends within them it is sent with a plain
+ * Content-Length, otherwise the status line goes out with chunked transfer
+ * encoding, gzip-compressed when the client accepts it.
+ * Until then nothing is sent, so a handler that fails early can still answer
+ * with an error status instead; one that fails later must {@link #abort} it.
+ */
+class StreamingResponse extends OutputStream {
+    private static final Logger LOGGER = Logger.getLogger(StreamingResponse.class.getName());
+
+    private final HttpExchange exchange;
+    private final int statusCode;
+    private final ByteArrayOutputStream pending;
+    private OutputStream body;
+    private boolean closed;
+
+    StreamingResponse(HttpExchange exchange, int statusCode) {
+        this.exchange = exchange;
+        this.statusCode = statusCode;
+        this.pending = new ByteArrayOutputStream(Math.max(256, HttpResponses.GZIP_MIN_SIZE));
+    }
+
+    /**
+     * Sends a body of unknown length as {@code writer} produces it, with status 200.
+     * If writing fails before the first byte is sent the client gets a 500 with
+     * {@code errorMessage}; afterwards the response is aborted, so the client
+     * sees the body end early rather than a complete-looking truncated one.
+     */
+    static void send(HttpExchange exchange, String contentType, BodyWriter writer, String errorMessage)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        StreamingResponse body = new StreamingResponse(exchange, 200);
+        Writer out = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), 16 * 1024);
+        try {
+            writer.write(out);
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error streaming response", e);
+            if (body.isCommitted()) {
+                throw body.abort(e);
+            }
+            exchange.getResponseHeaders().remove("Content-Type");
+            exchange.getResponseHeaders().remove("Content-Disposition");
+            exchange.getResponseHeaders().remove("ETag");
+            HttpResponses.send(exchange, 500, errorMessage);
+            return;
+        } catch (IOException e) {
+            // Usually the client went away; nothing more can be sent either way
+            throw body.abort(e);
+        }
+        out.close();
+    }
+
+    boolean isCommitted() {
+        return body != null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (body == null && pending.size() + 1 < HttpResponses.GZIP_MIN_SIZE) {
+            pending.write(b);
+            return;
+        }
+        commit().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (body == null && pending.size() + len < HttpResponses.GZIP_MIN_SIZE) {
+            pending.write(b, off, len);
+            return;
+        }
+        commit().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (body != null) {
+            body.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (body == null) {
+            // Small enough to send in one go
+            HttpResponses.send(exchange, statusCode, pending.toByteArray());
+            return;
+        }
+        body.close();
+    }
+
+    /**
+     * Gives up on the response after a failure. Nothing more is written: not the
+     * held-back bytes, the gzip trailer or the terminating chunk. The returned
+     * exception must be thrown out of the handler; the JDK server then closes
+     * the connection instead of ending the body, so the client gets an early EOF.
+     */
+    IOException abort(Exception cause) {
+        closed = true;
+        return new IOException("Response aborted", cause);
+    }
+
+    private OutputStream commit() throws IOException {
+        if (body == null) {
+            OutputStream raw;
+            if (HttpResponses.acceptsGzip(exchange)) {
+                HttpResponses.markGzipped(exchange);
+                // Length 0 selects chunked encoding
+                exchange.sendResponseHeaders(statusCode, 0);
+                raw = new GZIPOutputStream(exchange.getResponseBody(), 8192);
+            } else {
+                exchange.sendResponseHeaders(statusCode, 0);
+                raw = exchange.getResponseBody();
+            }
+            pending.writeTo(raw);
+            pending.reset();
+            body = raw;
+        }
+        return body;
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+        void write(Writer out) throws IOException, SQLException;
+    }
+}
@@ -1,192 +1,230 @@
 package com.laplateforme.tracker.controller;
 
+import com.laplateforme.tracker.dao.BatchResult;
+import com.laplateforme.tracker.dao.DataVersion;
+import com.laplateforme.tracker.dao.KeysetCursor;
 import com.laplateforme.tracker.dao.StudentDAO;
+import com.laplateforme.tracker.dao.StudentPage;
+import com.laplateforme.tracker.dao.StudentQuery;
+import com.laplateforme.tracker.dao.StudentSource;
+import com.laplateforme.tracker.logging.StructuredLogger;
 import com.laplateforme.tracker.model.Student;
+import com.laplateforme.tracker.model.StudentStatistics;
+import com.laplateforme.tracker.service.StudentService;
 import com.laplateforme.tracker.utils.FileManager;
+import com.laplateforme.tracker.utils.JsonWriter;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpExchange;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.zip.GZIPInputStream;
 
 public class StudentController implements HttpHandler {
+    private static final StructuredLogger EVENTS = StructuredLogger.get(StudentController.class);
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    // Items accepted by one batch request; the body is read no further once exceeded
+    static final int MAX_BATCH_SIZE = Integer.getInteger("tracker.server.maxBatchSize", 1000);
     private final StudentDAO studentDAO;
     private final FileManager fileManager;
+    private final Router router;
 
     public StudentController() {
         this.studentDAO = new StudentDAO();
         this.fileManager = new FileManager();
+        this.router = new Router()
+                .add("GET", "/students", conditional(this::handleListStudents))
+                .add("GET", "/students/statistics", conditional((exchange, request) -> handleGetStatistics(exchange)))
+                .add("GET", "/students/export", this::handleExportStudents)
+                .add("GET", "/students/{id}", conditional(this::handleGetStudentById))
+                .add("POST", "/students", this::handleAddStudent)
+                .add("POST", "/students/import", this::handleImportStudents)
+                .add("POST", "/students/batch", this::handleBatchCreate)
+                .add("PUT", "/students/batch", this::handleBatchUpdate)
+                .add("DELETE", "/students/batch", this::handleBatchDelete)
+                .add("PUT", "/students/{id}", this::handleUpdateStudent)
+                .add("DELETE", "/students/{id}", this::handleDeleteStudent);
     }
 
     @Override
     public void handle(HttpExchange exchange) throws IOException {
-        String method = exchange.getRequestMethod();
-        String path = exchange.getRequestURI().getPath();
-        String query = exchange.getRequestURI().getQuery();
-
-        switch (method) {
-            case "GET":
-                if (path.equals("/students")) {
-                    if (query != null && query.contains("search")) {
-                        handleSearchStudents(exchange, query);
-                    } else if (query != null && query.contains("sort")) {
-                        handleSortStudents(exchange, query);
-                    } else if (query != null && query.contains("page")) {
-                        handlePaginatedStudents(exchange, query);
-                    } else {
-                        handleGetAllStudents(exchange);
-                    }
-                } else if (path.equals("/students/statistics")) {
-                    handleGetStatistics(exchange);
-                } else if (path.equals("/students/export")) {
-                    handleExportStudents(exchange, query);
-                } else if (path.startsWith("/students/")) {
-                    handleGetStudentById(exchange);
-                }
-                break;
-            case "POST":
-                if (path.equals("/students")) {
-                    handleAddStudent(exchange);
-                } else if (path.equals("/students/import")) {
-                    handleImportStudents(exchange);
-                }
-                break;
-            case "PUT":
-                if (path.startsWith("/students/")) {
-                    handleUpdateStudent(exchange);
-                }
-                break;
-            case "DELETE":
-                if (path.startsWith("/students/")) {
-                    handleDeleteStudent(exchange);
-                }
-                break;
-            default:
-                sendResponse(exchange, 405, "Method Not Allowed");
-        }
+        router.dispatch(exchange);
     }
 
-    private void handleGetAllStudents(HttpExchange exchange) throws IOException {
-        List<Student> students = studentDAO.getAllStudents();
-        sendResponse(exchange, 200, students.toString());
-    }
-
-    private void handleGetStudentById(HttpExchange exchange) throws IOException {
-        String[] pathParts = exchange.getRequestURI().getPath().split("/");
-        try {
-            int id = Integer.parseInt(pathParts[pathParts.length - 1]);
-            Student student = studentDAO.getStudentById(id);
-            if (student != null) {
-                sendResponse(exchange, 200, student.toString());
-            } else {
-                sendResponse(exchange, 404, "Student not found");
+    /**
+     * Answers 304 when the client already holds the current data version.
+     * Reads are tagged with the version taken before querying, so a write racing
+     * with the query can only make the tag older, never newer.
+     */
+    private static Router.Handler conditional(Router.Handler handler) {
+        return (exchange, request) -> {
+            if (!HttpResponses.notModified(exchange, DataVersion.etag())) {
+                handler.handle(exchange, request);
             }
-        } catch (NumberFormatException e) {
-            sendResponse(exchange, 400, "Invalid student ID");
-        }
+        };
     }
 
-    private void handleSearchStudents(HttpExchange exchange, String query) throws IOException {
-        Map<String, String> params = parseQuery(query);
-        String criteria = params.get("search");
-        String value = params.get("value");
-
-        if (criteria == null || value == null) {
-            sendResponse(exchange, 400, "Missing search criteria or value");
-            return;
-        }
+    /**
+     * GET /students: filter (search/value), sort (sort/order) and paging
+     * (page/size or limit/cursor) combine freely into one query.
+     */
+    private void handleListStudents(HttpExchange exchange, Request request) throws IOException {
+        StudentQuery query = new StudentQuery();
+
+        if (request.hasQuery("search") || request.hasQuery("value")) {
+            String criteria = request.query("search");
+            String value = request.query("value");
+            if (criteria == null || value == null) {
+                sendResponse(exchange, 400, "Missing search criteria or value");
+                return;
+            }
 
-        // Validate criteria to prevent SQL injection
-        if (!criteria.matches("first_name|last_name|age|grade")) {
-            sendResponse(exchange, 400, "Invalid search criteria");
-            return;
-        }
+            // Validate criteria to prevent SQL injection
+            if (!StudentQuery.isSearchField(criteria)) {
+                sendResponse(exchange, 400, "Invalid search criteria");
+                return;
+            }
 
-        Object searchValue = value;
-        try {
-            if (criteria.equals("age")) {
-                searchValue = Integer.parseInt(value);
-            } else if (criteria.equals("grade")) {
-                searchValue = Double.parseDouble(value);
+            Object searchValue = value;
+            try {
+                if (criteria.equals("age")) {
+                    searchValue = Integer.parseInt(value);
+                } else if (criteria.equals("grade")) {
+                    searchValue = Double.parseDouble(value);
+                }
+            } catch (NumberFormatException e) {
+                sendResponse(exchange, 400, "Invalid value for numeric field");
+                return;
             }
-        } catch (NumberFormatException e) {
-            sendResponse(exchange, 400, "Invalid value for numeric field");
-            return;
+            query.where(criteria, searchValue);
         }
 
-        List<Student> results = studentDAO.searchStudents(criteria, searchValue);
-        sendResponse(exchange, 200, results.toString());
-    }
-
-    private void handleSortStudents(HttpExchange exchange, String query) throws IOException {
-        Map<String, String> params = parseQuery(query);
-        String field = params.get("sort");
-        String order = params.get("order");
-
-        if (field == null || order == null) {
-            sendResponse(exchange, 400, "Missing sort field or order");
-            return;
-        }
+        String field = request.hasQuery("sort") ? request.query("sort") : "id";
+        String order = request.hasQuery("order") ? request.query("order") : "asc";
 
         // Validate field and order to prevent SQL injection
-        if (!field.matches("id|first_name|last_name|age|grade")) {
+        if (!KeysetCursor.isSortField(field)) {
             sendResponse(exchange, 400, "Invalid sort field");
             return;
         }
-
         if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
             sendResponse(exchange, 400, "Invalid sort order (use asc or desc)");
             return;
         }
+        boolean descending = order.equalsIgnoreCase("desc");
+        query.orderBy(field, descending);
 
-        List<Student> results = studentDAO.sortStudents(field, order.toUpperCase());
-        sendResponse(exchange, 200, results.toString());
-    }
-
-    private void handlePaginatedStudents(HttpExchange exchange, String query) throws IOException {
-        Map<String, String> params = parseQuery(query);
-        String pageStr = params.get("page");
-        String sizeStr = params.get("size");
-
-        if (pageStr == null || sizeStr == null) {
-            sendResponse(exchange, 400, "Missing page or size parameter");
+        boolean offsetPaging = request.hasQuery("page") || request.hasQuery("size");
+        boolean keysetPaging = request.hasQuery("limit") || request.hasQuery("cursor");
+        if (offsetPaging && keysetPaging) {
+            sendResponse(exchange, 400, "Use either page/size or limit/cursor, not both");
             return;
         }
 
-        try {
-            int page = Integer.parseInt(pageStr);
-            int size = Integer.parseInt(sizeStr);
-
+        if (offsetPaging) {
+            if (!request.hasQuery("page") || !request.hasQuery("size")) {
+                sendResponse(exchange, 400, "Missing page or size parameter");
+                return;
+            }
+            int page;
+            int size;
+            try {
+                page = Integer.parseInt(request.query("page"));
+                size = Integer.parseInt(request.query("size"));
+            } catch (NumberFormatException e) {
+                sendResponse(exchange, 400, "Invalid page or size value");
+                return;
+            }
             if (page < 1 || size < 1) {
                 sendResponse(exchange, 400, "Page and size must be positive integers");
                 return;
             }
+            query.page((page - 1) * size, size);
+        }
 
-            List<Student> results = studentDAO.getStudentsPaginated((page - 1) * size, size);
-            sendResponse(exchange, 200, results.toString());
+        if (keysetPaging) {
+            if (!request.hasQuery("limit")) {
+                sendResponse(exchange, 400, "Cursor requires a limit parameter");
+                return;
+            }
+            int limit;
+            try {
+                limit = Integer.parseInt(request.query("limit"));
+            } catch (NumberFormatException e) {
+                sendResponse(exchange, 400, "Invalid limit value");
+                return;
+            }
+            if (limit < 1) {
+                sendResponse(exchange, 400, "Limit must be a positive integer");
+                return;
+            }
+
+            KeysetCursor cursor = null;
+            String token = request.query("cursor");
+            if (token != null) {
+                try {
+                    cursor = KeysetCursor.decode(token);
+                } catch (IllegalArgumentException e) {
+                    sendResponse(exchange, 400, "Invalid cursor");
+                    return;
+                }
+                if (!cursor.getField().equals(field) || cursor.isDescending() != descending) {
+                    sendResponse(exchange, 400, "Cursor does not match sort field or order");
+                    return;
+                }
+            }
+
+            StudentPage page = studentDAO.findPage(query.after(cursor, limit));
+            if (page.getNextCursor() != null) {
+                exchange.getResponseHeaders().set("X-Next-Cursor", page.getNextCursor());
+            }
+            sendStudents(exchange, page.getStudents()::forEach);
+            return;
+        }
+
+        sendStudents(exchange, consumer -> studentDAO.findStudents(query, consumer));
+    }
+
+    private void handleGetStudentById(HttpExchange exchange, Request request) throws IOException {
+        try {
+            int id = Integer.parseInt(request.pathParam("id"));
+            Student student = studentDAO.getStudentById(id);
+            if (student != null) {
+                sendStudent(exchange, student);
+            } else {
+                sendResponse(exchange, 404, "Student not found");
+            }
         } catch (NumberFormatException e) {
-            sendResponse(exchange, 400, "Invalid page or size value");
+            sendResponse(exchange, 400, "Invalid student ID");
         }
     }
 
     private void handleGetStatistics(HttpExchange exchange) throws IOException {
-        double averageGrade = studentDAO.getAverageGrade();
-        int totalStudents = studentDAO.getStudentCount();
+        StudentStatistics statistics = studentDAO.getStatistics();
 
-        String stats = String.format("{\"totalStudents\":%d,\"averageGrade\":%.2f}",
-                totalStudents, averageGrade);
+        String stats = String.format(Locale.US,
+                "{\"totalStudents\":%d,\"averageGrade\":%.2f,\"minGrade\":%.2f,\"maxGrade\":%.2f,"
+                        + "\"variance\":%.4f,\"standardDeviation\":%.4f}",
+                statistics.getCount(), statistics.getAverage(), statistics.getMinGrade(),
+                statistics.getMaxGrade(), statistics.getVariance(), statistics.getStandardDeviation());
         sendResponse(exchange, 200, stats);
     }
 
-    private void handleAddStudent(HttpExchange exchange) throws IOException {
-        // Parse request body
-        String body = new String(exchange.getRequestBody().readAllBytes());
-        System.out.println("Add Student - Request body: " + body);
-
-        Map<String, String> params = parseQuery(body);
-        System.out.println("Add Student - Parsed params: " + params);
+    private void handleAddStudent(HttpExchange exchange, Request request) throws IOException {
+        Map<String, String> params = request.form();
+        if (EVENTS.isEnabled(StructuredLogger.Level.DEBUG)) {
+            EVENTS.debug("student.add.request", "fields", params.keySet());
+        }
 
         String firstName = params.get("firstName");
         String lastName = params.get("lastName");
@@ -194,7 +232,7 @@ public class StudentController implements HttpHandler {
         String gradeStr = params.get("grade");
 
         if (firstName == null || lastName == null || ageStr == null || gradeStr == null) {
-            System.out.println("Add Student - Missing required fields");
+            EVENTS.warn("student.add.rejected", "reason", "missing_fields");
             sendResponse(exchange, 400, "Missing required fields");
             return;
         }
@@ -204,10 +242,8 @@ public class StudentController implements HttpHandler {
             double grade = Double.parseDouble(gradeStr);
 
             Student student = new Student(firstName, lastName, age, grade);
-            System.out.println("Add Student - Created student: " + student);
-
             boolean success = studentDAO.addStudent(student);
-            System.out.println("Add Student - DAO result: " + success);
+            EVENTS.info("student.add", "success", success);
 
             if (success) {
                 sendResponse(exchange, 201, "Student added successfully");
@@ -215,23 +251,18 @@ public class StudentController implements HttpHandler {
                 sendResponse(exchange, 500, "Failed to add student");
             }
         } catch (NumberFormatException e) {
-            System.out.println("Add Student - Number format exception: " + e.getMessage());
+            EVENTS.warn("student.add.rejected", "reason", "invalid_number", "error", e);
             sendResponse(exchange, 400, "Invalid age or grade value");
         }
     }
 
-    private void handleUpdateStudent(HttpExchange exchange) throws IOException {
-        String[] pathParts = exchange.getRequestURI().getPath().split("/");
+    private void handleUpdateStudent(HttpExchange exchange, Request request) throws IOException {
         try {
-            int id = Integer.parseInt(pathParts[pathParts.length - 1]);
-            System.out.println("Update Student - ID: " + id);
-
-            // Parse request body
-            String body = new String(exchange.getRequestBody().readAllBytes());
-            System.out.println("Update Student - Request body: " + body);
-
-            Map<String, String> params = parseQuery(body);
-            System.out.println("Update Student - Parsed params: " + params);
+            int id = Integer.parseInt(request.pathParam("id"));
+            Map<String, String> params = request.form();
+            if (EVENTS.isEnabled(StructuredLogger.Level.DEBUG)) {
+                EVENTS.debug("student.update.request", "id", id, "fields", params.keySet());
+            }
 
             String firstName = params.get("firstName");
             String lastName = params.get("lastName");
@@ -239,7 +270,7 @@ public class StudentController implements HttpHandler {
             String gradeStr = params.get("grade");
 
             if (firstName == null || lastName == null || ageStr == null || gradeStr == null) {
-                System.out.println("Update Student - Missing required fields");
+                EVENTS.warn("student.update.rejected", "id", id, "reason", "missing_fields");
                 sendResponse(exchange, 400, "Missing required fields");
                 return;
             }
@@ -248,10 +279,8 @@ public class StudentController implements HttpHandler {
             double grade = Double.parseDouble(gradeStr);
 
             Student student = new Student(id, firstName, lastName, age, grade);
-            System.out.println("Update Student - Created student: " + student);
-
             boolean success = studentDAO.updateStudent(student);
-            System.out.println("Update Student - DAO result: " + success);
+            EVENTS.info("student.update", "id", id, "success", success);
 
             if (success) {
                 sendResponse(exchange, 200, "Student updated successfully");
@@ -259,15 +288,14 @@ public class StudentController implements HttpHandler {
                 sendResponse(exchange, 404, "Student not found or update failed");
             }
         } catch (NumberFormatException e) {
-            System.out.println("Update Student - Number format exception: " + e.getMessage());
+            EVENTS.warn("student.update.rejected", "reason", "invalid_number", "error", e);
             sendResponse(exchange, 400, "Invalid ID, age or grade value");
         }
     }
 
-    private void handleDeleteStudent(HttpExchange exchange) throws IOException {
-        String[] pathParts = exchange.getRequestURI().getPath().split("/");
+    private void handleDeleteStudent(HttpExchange exchange, Request request) throws IOException {
         try {
-            int id = Integer.parseInt(pathParts[pathParts.length - 1]);
+            int id = Integer.parseInt(request.pathParam("id"));
             boolean success = studentDAO.deleteStudent(id);
             if (success) {
                 sendResponse(exchange, 200, "Student deleted successfully");
@@ -279,25 +307,235 @@ public class StudentController implements HttpHandler {
         }
     }
 
-    private void handleExportStudents(HttpExchange exchange, String query) throws IOException {
-        Map<String, String> params = parseQuery(query);
-        String format = params.get("format");
-        String filename = params.get("filename");
+    /**
+     * POST /students/batch: a JSON array of new students, inserted in one transaction.
+     */
+    private void handleBatchCreate(HttpExchange exchange, Request request) throws IOException {
+        BatchItems<Student> items;
+        try {
+            items = readStudentItems(exchange, false);
+        } catch (BatchTooLargeException e) {
+            sendBatchTooLarge(exchange);
+            return;
+        }
+        BatchResult result = studentDAO.addStudents(items.valid);
+        sendBatchResult(exchange, items, result);
+    }
 
-        if (format == null || filename == null) {
+    /**
+     * PUT /students/batch: a JSON array of students with their id, updated in one transaction.
+     */
+    private void handleBatchUpdate(HttpExchange exchange, Request request) throws IOException {
+        BatchItems<Student> items;
+        try {
+            items = readStudentItems(exchange, true);
+        } catch (BatchTooLargeException e) {
+            sendBatchTooLarge(exchange);
+            return;
+        }
+        BatchResult result = studentDAO.updateStudents(items.valid);
+        sendBatchResult(exchange, items, result);
+    }
+
+    /**
+     * DELETE /students/batch: a JSON array of ids, deleted in one transaction.
+     */
+    private void handleBatchDelete(HttpExchange exchange, Request request) throws IOException {
+        BatchItems<Integer> items;
+        try {
+            items = readIdItems(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        } catch (BatchTooLargeException e) {
+            sendBatchTooLarge(exchange);
+            return;
+        }
+        if (items == null) {
+            sendResponse(exchange, 400, "Expected a JSON array of student ids");
+            return;
+        }
+        BatchResult result = studentDAO.deleteStudents(items.valid);
+        sendBatchResult(exchange, items, result);
+    }
+
+    /**
+     * Reads a JSON array of ids as it arrives, one token at a time.
+     *
+     * @return the ids, or {@code null} if the body is not an array
+     */
+    static BatchItems<Integer> readIdItems(Reader source) throws IOException {
+        Reader body = new BufferedReader(source);
+        int c = skipWhitespace(body);
+        if (c != '[') {
+            return null;
+        }
+        BatchItems<Integer> items = new BatchItems<>();
+        StringBuilder token = new StringBuilder(12);
+        // A token is invalid once it has inner whitespace or outgrows any int
+        boolean ended = false;
+        boolean invalid = false;
+        boolean first = true;
+        while ((c = body.read()) != -1) {
+            if (c != ',' && c != ']') {
+                if (Character.isWhitespace(c)) {
+                    ended = token.length() > 0;
+                } else if (ended || token.length() == 11) {
+                    invalid = true;
+                } else {
+                    token.append((char) c);
+                }
+                continue;
+            }
+            // "[]" is an empty batch, any other empty item is invalid
+            if (!(first && c == ']' && token.length() == 0 && !invalid)) {
+                Integer id = invalid ? null : parseId(token);
+                if (id == null) {
+                    items.reject("Invalid student ID");
+                } else {
+                    items.accept(id);
+                }
+            }
+            token.setLength(0);
+            ended = false;
+            invalid = false;
+            first = false;
+            if (c == ']') {
+                return skipWhitespace(body) == -1 ? items : null;
+            }
+        }
+        return null;
+    }
+
+    private static Integer parseId(CharSequence token) {
+        try {
+            return Integer.parseInt(token, 0, token.length(), 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int skipWhitespace(Reader reader) throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+
+    private void sendBatchTooLarge(HttpExchange exchange) throws IOException {
+        sendResponse(exchange, 413, "Batch too large: at most " + MAX_BATCH_SIZE + " items per request");
+    }
+
+    private BatchItems<Student> readStudentItems(HttpExchange exchange, boolean requireId) throws IOException {
+        BatchItems<Student> items = new BatchItems<>();
+        Reader body = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8);
+        fileManager.readJSONObjects(body, object -> {
+            Student student = fileManager.parseStudent(object, requireId);
+            if (student == null) {
+                items.reject("Missing or invalid fields");
+            } else if (!StudentService.isValidStudent(student)) {
+                items.reject("Invalid student");
+            } else {
+                items.accept(student);
+            }
+        });
+        return items;
+    }
+
+    /**
+     * Reports the outcome of every submitted item, in order:
+     * {"succeeded":2,"failed":1,"results":[{"index":0,"status":"ok"},{"index":1,"status":"failed","error":"..."},...]}.
+     */
+    private void sendBatchResult(HttpExchange exchange, BatchItems<?> items, BatchResult result) throws IOException {
+        if (!result.isCommitted()) {
+            sendResponse(exchange, 500, "Batch operation failed");
+            return;
+        }
+        for (BatchResult.Failure failure : result.getFailures()) {
+            items.errors.put(items.positions.get(failure.getIndex()), failure.getReason());
+        }
+
+        StringWriter buffer = new StringWriter(64 + 32 * items.count);
+        JsonWriter json = new JsonWriter(buffer);
+        json.beginObject()
+                .name("succeeded").value(items.count - items.errors.size())
+                .name("failed").value(items.errors.size())
+                .name("results").beginArray();
+        for (int i = 0; i < items.count; i++) {
+            String error = items.errors.get(i);
+            json.beginObject().name("index").value(i);
+            if (error == null) {
+                json.name("status").value("ok");
+            } else {
+                json.name("status").value("failed").name("error").value(error);
+            }
+            json.endObject();
+        }
+        json.endArray().endObject();
+        json.flush();
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        sendResponse(exchange, 200, buffer.toString());
+    }
+
+    /**
+     * Items of a batch request: those that passed validation, with their position
+     * in the request, and the errors of the others, by position.
+     */
+    static final class BatchItems<T> {
+        final List<T> valid = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        final Map<Integer, String> errors = new HashMap<>();
+        int count;
+
+        private void accept(T item) {
+            checkSize();
+            positions.add(count++);
+            valid.add(item);
+        }
+
+        private void reject(String error) {
+            checkSize();
+            errors.put(count++, error);
+        }
+
+        private void checkSize() {
+            if (count >= MAX_BATCH_SIZE) {
+                throw new BatchTooLargeException();
+            }
+        }
+    }
+
+    /**
+     * Thrown out of the body parser once a batch exceeds {@link #MAX_BATCH_SIZE} items.
+     */
+    static final class BatchTooLargeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private BatchTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private void handleExportStudents(HttpExchange exchange, Request request) throws IOException {
+        String format = request.query("format");
+        String filename = request.query("filename");
+
+        if (format == null) {
             sendResponse(exchange, 400, "Missing format or filename parameter");
             return;
         }
 
-        List<Student> students = studentDAO.getAllStudents();
+        if (filename == null) {
+            handleDownloadExport(exchange, format);
+            return;
+        }
+
         boolean success = false;
 
         switch (format.toLowerCase()) {
             case "csv":
-                success = fileManager.exportToCSV(students, filename);
+                success = fileManager.exportToCSV(studentDAO::forEachStudent, filename);
                 break;
             case "json":
-                success = fileManager.exportToJSON(students, filename);
+                success = fileManager.exportToJSON(studentDAO::forEachStudent, filename);
                 break;
             default:
                 sendResponse(exchange, 400, "Unsupported format. Use 'csv' or 'json'");
@@ -311,9 +549,45 @@ public class StudentController implements HttpHandler {
         }
     }
 
-    private void handleImportStudents(HttpExchange exchange) throws IOException {
-        String body = new String(exchange.getRequestBody().readAllBytes());
-        Map<String, String> params = parseQuery(body);
+    /**
+     * Streams the export back as the response body, row by row from a database
+     * cursor, instead of writing a file on the server.
+     */
+    private void handleDownloadExport(HttpExchange exchange, String format) throws IOException {
+        String contentType;
+        StreamingResponse.BodyWriter writer;
+        switch (format.toLowerCase()) {
+            case "csv":
+                contentType = "text/csv; charset=utf-8";
+                writer = out -> fileManager.writeCSV(studentDAO::forEachStudent, out);
+                break;
+            case "json":
+                contentType = JSON_CONTENT_TYPE;
+                writer = out -> fileManager.writeJSON(studentDAO::forEachStudent, out);
+                break;
+            case "ndjson":
+                contentType = "application/x-ndjson; charset=utf-8";
+                writer = out -> fileManager.writeNDJSON(studentDAO::forEachStudent, out);
+                break;
+            default:
+                sendResponse(exchange, 400, "Unsupported format. Use 'csv', 'json' or 'ndjson'");
+                return;
+        }
+        exchange.getResponseHeaders().set("Content-Disposition",
+                "attachment; filename=\"students." + format.toLowerCase() + "\"");
+        streamResponse(exchange, contentType, writer);
+    }
+
+    private void handleImportStudents(HttpExchange exchange, Request request) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        contentType = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (request.hasQuery("format") || contentType.startsWith("text/csv")
+                || contentType.startsWith("application/json")) {
+            handleUploadImport(exchange, request, contentType);
+            return;
+        }
+
+        Map<String, String> params = request.form();
 
         String format = params.get("format");
         String filename = params.get("filename");
@@ -323,64 +597,133 @@ public class StudentController implements HttpHandler {
             return;
         }
 
-        boolean success = false;
-        int importedCount = 0;
+        if ("copy".equalsIgnoreCase(params.get("mode"))) {
+            handleCopyImport(exchange, format, filename);
+            return;
+        }
 
+        List<Student> students;
         switch (format.toLowerCase()) {
             case "csv":
-                List<Student> csvStudents = fileManager.importFromCSV(filename);
-                if (csvStudents != null) {
-                    for (Student student : csvStudents) {
-                        if (studentDAO.addStudent(student)) {
-                            importedCount++;
-                        }
-                    }
-                    success = true;
-                }
+                students = fileManager.importFromCSV(filename);
                 break;
             case "json":
-                List<Student> jsonStudents = fileManager.importFromJSON(filename);
-                if (jsonStudents != null) {
-                    for (Student student : jsonStudents) {
-                        if (studentDAO.addStudent(student)) {
-                            importedCount++;
-                        }
+                students = fileManager.importFromJSON(filename);
+                break;
+            default:
+                sendResponse(exchange, 400, "Unsupported format. Use 'csv' or 'json'");
+                return;
+        }
+
+        if (students == null) {
+            sendResponse(exchange, 500, "Import failed");
+            return;
+        }
+
+        BatchResult result = studentDAO.addStudents(students);
+        sendImportResult(exchange, result, 0);
+    }
+
+    /**
+     * Streams the file straight into PostgreSQL COPY, validating each row on the way,
+     * for loads too large to materialize as a List.
+     */
+    private void handleCopyImport(HttpExchange exchange, String format, String filename) throws IOException {
+        StudentSource source;
+        switch (format.toLowerCase()) {
+            case "csv":
+                source = consumer -> fileManager.streamFromCSV(filename, consumer);
+                break;
+            case "json":
+                source = consumer -> fileManager.streamFromJSON(filename, consumer);
+                break;
+            default:
+                sendResponse(exchange, 400, "Unsupported format. Use 'csv' or 'json'");
+                return;
+        }
+
+        BatchResult result = studentDAO.copyStudents(source, StudentService::isValidStudent);
+        sendImportResult(exchange, result, 0);
+    }
+
+    /**
+     * Imports the file sent as the request body (CSV or JSON, optionally gzip-encoded).
+     * Rows are parsed as bytes arrive and inserted in JDBC batches, or through
+     * COPY with {@code mode=copy}, so memory use does not grow with the upload.
+     */
+    private void handleUploadImport(HttpExchange exchange, Request request, String contentType) throws IOException {
+        String format = request.query("format");
+        if (format == null) {
+            format = contentType.startsWith("text/csv") ? "csv" : "json";
+        }
+
+        InputStream in = exchange.getRequestBody();
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        Reader body = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+
+        int[] malformed = {0};
+        StudentSource source;
+        switch (format.toLowerCase()) {
+            case "csv":
+                source = consumer -> fileManager.readCSV(body, consumer, (line, lineNumber) -> malformed[0]++);
+                break;
+            case "json":
+                source = consumer -> fileManager.readJSONObjects(body, object -> {
+                    // Ids in the upload are ignored, new rows get their own
+                    Student student = fileManager.parseStudent(object, false);
+                    if (student != null) {
+                        consumer.accept(student);
+                    } else {
+                        malformed[0]++;
                     }
-                    success = true;
-                }
+                });
                 break;
             default:
                 sendResponse(exchange, 400, "Unsupported format. Use 'csv' or 'json'");
                 return;
         }
 
-        if (success) {
-            String response = String.format("Import completed. %d students imported successfully", importedCount);
+        BatchResult result = "copy".equalsIgnoreCase(request.query("mode"))
+                ? studentDAO.copyStudents(source, StudentService::isValidStudent)
+                : studentDAO.addStudents(source, StudentService::isValidStudent);
+        sendImportResult(exchange, result, malformed[0]);
+    }
+
+    private void sendImportResult(HttpExchange exchange, BatchResult result, int malformed) throws IOException {
+        if (result.isCommitted()) {
+            String response = String.format("Import completed. %d students imported successfully, %d rejected",
+                    result.getSuccessCount(), result.getFailureCount() + malformed);
             sendResponse(exchange, 200, response);
         } else {
             sendResponse(exchange, 500, "Import failed");
         }
     }
 
-    private Map<String, String> parseQuery(String query) {
-        Map<String, String> params = new HashMap<>();
-        if (query != null) {
-            for (String param : query.split("&")) {
-                String[] keyValue = param.split("=");
-                if (keyValue.length == 2) {
-                    params.put(keyValue[0], keyValue[1]);
-                }
-            }
-        }
-        return params;
+    /**
+     * Writes students as a JSON array straight from the source to a chunked
+     * response, without building the list or its text in memory.
+     */
+    private void sendStudents(HttpExchange exchange, StudentSource source) throws IOException {
+        streamResponse(exchange, JSON_CONTENT_TYPE, out -> fileManager.writeJSON(source, out));
+    }
+
+    private void streamResponse(HttpExchange exchange, String contentType, StreamingResponse.BodyWriter writer)
+            throws IOException {
+        StreamingResponse.send(exchange, contentType, writer, "Failed to read students");
+    }
+
+    private void sendStudent(HttpExchange exchange, Student student) throws IOException {
+        StringWriter buffer = new StringWriter(128);
+        new JsonWriter(buffer).student(student);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        sendResponse(exchange, 200, buffer.toString());
     }
 
     private void sendResponse(HttpExchange exchange, int statusCode, String response) throws IOException {
         // Don't force JSON content-type for all responses
         // exchange.getResponseHeaders().add("Content-Type", "application/json");
-        exchange.sendResponseHeaders(statusCode, response.length());
-        OutputStream os = exchange.getResponseBody();
-        os.write(response.getBytes());
-        os.close();
+        HttpResponses.send(exchange, statusCode, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.laplateforme.tracker.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk DAO operation: how many rows went through and which ones
+ * were rejected, by position in the submitted collection.
+ */
+public class BatchResult {
+    private int successCount;
+    private final List<Failure> failures = new ArrayList<>();
+    private String error;
+
+    public void addSuccess(int count) {
+        successCount += count;
+    }
+
+    public void addFailure(int index, String reason) {
+        failures.add(new Failure(index, reason));
+    }
+
+    /** Marks the whole operation as failed, e.g. when the commit itself did not go through. */
+    public void fail(String error) {
+        this.error = error;
+        this.successCount = 0;
+    }
+
+    public int getSuccessCount() { return successCount; }
+
+    public int getFailureCount() { return failures.size(); }
+
+    public List<Failure> getFailures() { return Collections.unmodifiableList(failures); }
+
+    public String getError() { return error; }
+
+    public boolean isCommitted() { return error == null; }
+
+    public static class Failure {
+        private final int index;
+        private final String reason;
+
+        public Failure(int index, String reason) {
+            this.index = index;
+            this.reason = reason;
+        }
+
+        public int getIndex() { return index; }
+
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "Failure{index=" + index + ", reason='" + reason + "'}";
+        }
+    }
+}
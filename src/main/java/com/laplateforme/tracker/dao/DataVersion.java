@@ -0,0 +1,30 @@
+package com.laplateforme.tracker.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped by every student write made through this process, used to
+ * build ETags: as long as it has not moved, any read response is still current.
+ * The epoch part changes on restart so that tags from a previous run never match.
+ * Writes made outside this server (other instances, manual SQL) are not seen.
+ */
+public final class DataVersion {
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private DataVersion() {
+    }
+
+    public static long current() {
+        return VERSION.get();
+    }
+
+    public static void bump() {
+        VERSION.incrementAndGet();
+    }
+
+    /** Weak tag: the same data may be sent plain or gzip-compressed. */
+    public static String etag() {
+        return "W/\"" + EPOCH + "-" + VERSION.get() + "\"";
+    }
+}
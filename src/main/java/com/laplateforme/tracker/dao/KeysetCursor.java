@@ -0,0 +1,90 @@
+package com.laplateforme.tracker.dao;
+
+import com.laplateforme.tracker.model.Student;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Continuation token for keyset pagination: the sort field and direction of the
+ * listing plus the sort key and id of the last row returned. Clients treat the
+ * encoded form as opaque and send it back to get the next page.
+ */
+public final class KeysetCursor {
+    private static final String VERSION = "v1";
+    private static final Set<String> SORT_FIELDS = Set.of("id", "first_name", "last_name", "age", "grade");
+
+    private final String field;
+    private final boolean descending;
+    private final int lastId;
+    private final Object lastValue;
+
+    private KeysetCursor(String field, boolean descending, int lastId, Object lastValue) {
+        this.field = field;
+        this.descending = descending;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    public static KeysetCursor after(String field, boolean descending, Student last) {
+        return new KeysetCursor(field, descending, last.getId(), sortValueOf(field, last));
+    }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, field, descending ? "desc" : "asc",
+                String.valueOf(lastId), String.valueOf(lastValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        // The sort value goes last so that names containing '|' survive the split
+        String[] parts = raw.split("\\|", 5);
+        if (parts.length != 5 || !VERSION.equals(parts[0]) || !isSortField(parts[1])
+                || !(parts[2].equals("asc") || parts[2].equals("desc"))) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String field = parts[1];
+        int lastId = Integer.parseInt(parts[3]);
+        return new KeysetCursor(field, parts[2].equals("desc"), lastId, parseSortValue(field, parts[4]));
+    }
+
+    public static boolean isSortField(String field) {
+        return SORT_FIELDS.contains(field);
+    }
+
+    public String getField() { return field; }
+
+    public boolean isDescending() { return descending; }
+
+    public int getLastId() { return lastId; }
+
+    public Object getLastValue() { return lastValue; }
+
+    private static Object sortValueOf(String field, Student student) {
+        switch (field) {
+            case "id": return student.getId();
+            case "first_name": return student.getFirstName();
+            case "last_name": return student.getLastName();
+            case "age": return student.getAge();
+            case "grade": return BigDecimal.valueOf(student.getGrade());
+            default: throw new IllegalArgumentException("Invalid sort field: " + field);
+        }
+    }
+
+    private static Object parseSortValue(String field, String value) {
+        switch (field) {
+            case "id":
+            case "age":
+                return Integer.parseInt(value);
+            case "grade":
+                return new BigDecimal(value);
+            default:
+                return value;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.laplateforme.tracker.dao;
+
+import com.laplateforme.tracker.model.Student;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, approximately LRU cache of students by id with a time-to-live.
+ * Students are mutable, so copies go in and copies come out.
+ *
+ * Reads take no lock: a hit is a ConcurrentHashMap lookup plus a timestamp
+ * write on the entry. Once the cache grows past its size, the least recently
+ * read tenth of it is evicted in one pass, so the scan is amortized over many
+ * insertions.
+ *
+ * Loads race with writes: a reader may fetch a row, a writer update and
+ * invalidate it, and the reader then cache the old row. To prevent that a
+ * loader takes a {@link #stamp()} before querying, and {@link #putIfUnchanged}
+ * drops the value if any invalidation happened in between.
+ */
+public class StudentCache {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // Serializes insertions and invalidations, never taken by get
+    private final Object writeLock = new Object();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StudentCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Student get(int id) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            if (entries.remove(id, entry)) {
+                evictions.increment();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        hits.increment();
+        return copy(entry.student);
+    }
+
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void putIfUnchanged(Student student, long stamp) {
+        if (maxSize <= 0) {
+            return;
+        }
+        Entry entry = new Entry(copy(student), System.currentTimeMillis() + ttlMillis);
+        synchronized (writeLock) {
+            if (invalidations.get() != stamp) {
+                return;
+            }
+            entries.put(student.getId(), entry);
+            if (entries.size() > maxSize) {
+                evictLeastRecentlyUsed();
+            }
+        }
+    }
+
+    public void invalidate(int id) {
+        synchronized (writeLock) {
+            invalidations.incrementAndGet();
+            entries.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (writeLock) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() { return maxSize; }
+
+    public long getHitCount() { return hits.sum(); }
+
+    public long getMissCount() { return misses.sum(); }
+
+    public long getEvictionCount() { return evictions.sum(); }
+
+    private void evictLeastRecentlyUsed() {
+        // Access times keep changing under concurrent reads, so sort a snapshot of them
+        List<Candidate> candidates = new ArrayList<>(entries.size());
+        for (Map.Entry<Integer, Entry> e : entries.entrySet()) {
+            candidates.add(new Candidate(e.getKey(), e.getValue()));
+        }
+        candidates.sort(Comparator.comparingLong(c -> c.lastAccess));
+        int toEvict = Math.min(candidates.size(), candidates.size() - maxSize + maxSize / 10);
+        for (int i = 0; i < toEvict; i++) {
+            Candidate candidate = candidates.get(i);
+            if (entries.remove(candidate.id, candidate.entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static Student copy(Student s) {
+        return new Student(s.getId(), s.getFirstName(), s.getLastName(), s.getAge(), s.getGrade());
+    }
+
+    private static final class Entry {
+        private final Student student;
+        private final long expiresAt;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(Student student, long expiresAt) {
+            this.student = student;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Candidate {
+        private final Integer id;
+        private final Entry entry;
+        private final long lastAccess;
+
+        private Candidate(Integer id, Entry entry) {
+            this.id = id;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
@@ -1,56 +1,378 @@
 package com.laplateforme.tracker.dao;
 
 import com.laplateforme.tracker.database.DatabaseConnection;
+import com.laplateforme.tracker.database.DatabaseQueryEvent;
+import com.laplateforme.tracker.database.StatementCache;
+import com.laplateforme.tracker.logging.StructuredLogger;
 import com.laplateforme.tracker.model.Student;
+import com.laplateforme.tracker.model.StudentStatistics;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class StudentDAO {
+    private static final String INSERT_SQL = "INSERT INTO student (first_name, last_name, age, grade) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE student SET first_name = ?, last_name = ?, age = ?, grade = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM student WHERE id = ?";
+    private static final String COPY_SQL = "COPY student (first_name, last_name, age, grade) FROM STDIN WITH (FORMAT csv)";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_BATCH_SIZE = Integer.getInteger("tracker.db.batchSize", 500);
+    // Shared by every StudentDAO instance so that writes from one invalidate reads from another
+    private static final StudentCache CACHE = new StudentCache(
+            Integer.getInteger("tracker.cache.students.maxSize", 10000),
+            Long.getLong("tracker.cache.students.ttlMs", 60000L));
     private final DatabaseConnection dbConnection;
     private static final Logger LOGGER = Logger.getLogger(StudentDAO.class.getName());
+    private static final StructuredLogger EVENTS = StructuredLogger.get(StudentDAO.class);
 
     public StudentDAO() {
         this.dbConnection = DatabaseConnection.getInstance();
     }
 
     public boolean addStudent(Student student) {
-        String sql = "INSERT INTO student (first_name, last_name, age, grade) VALUES (?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         try {
-            System.out.println("StudentDAO - Adding student: " + student);
-            int rowsAffected = dbConnection.executeUpdate(sql,
-                    student.getFirstName(), student.getLastName(), student.getAge(), student.getGrade());
-            System.out.println("StudentDAO - Rows affected: " + rowsAffected);
+            int rowsAffected;
+            try {
+                rowsAffected = dbConnection.executeUpdate(sql,
+                        student.getFirstName(), student.getLastName(), student.getAge(), student.getGrade());
+            } finally {
+                DataVersion.bump();
+            }
+            if (EVENTS.isEnabled(StructuredLogger.Level.DEBUG)) {
+                EVENTS.debug("student.insert", "rows", rowsAffected);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.out.println("StudentDAO - SQL Error adding student: " + e.getMessage());
+            EVENTS.error("student.insert.failed", "sqlState", e.getSQLState());
             LOGGER.log(Level.SEVERE, "Erreur lors de l'ajout de l'étudiant", e);
             return false;
         }
     }
 
+    public BatchResult addStudents(Collection<Student> students) {
+        return addStudents(students, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts all students in one transaction, sending them in JDBC batches of
+     * {@code batchSize}. A batch that fails is replayed row by row behind
+     * savepoints so only the offending rows are rejected.
+     */
+    public BatchResult addStudents(Collection<Student> students, int batchSize) {
+        try {
+            return executeBatched(INSERT_SQL, students, batchSize, this::bindInsert,
+                    "Erreur lors de l'ajout groupé des étudiants");
+        } finally {
+            DataVersion.bump();
+        }
+    }
+
+    /**
+     * Updates all students in one transaction with JDBC batching; ids matching
+     * no row are reported as failures, like rows the database rejects.
+     */
+    public BatchResult updateStudents(Collection<Student> students) {
+        try {
+            return executeBatched(UPDATE_SQL, students, DEFAULT_BATCH_SIZE, this::bindUpdate,
+                    "Erreur lors de la mise à jour groupée des étudiants");
+        } finally {
+            DataVersion.bump();
+            for (Student student : students) {
+                CACHE.invalidate(student.getId());
+            }
+        }
+    }
+
+    public BatchResult deleteStudents(Collection<Integer> ids) {
+        try {
+            return executeBatched(DELETE_SQL, ids, DEFAULT_BATCH_SIZE, (stmt, id) -> stmt.setInt(1, id),
+                    "Erreur lors de la suppression groupée des étudiants");
+        } finally {
+            DataVersion.bump();
+            for (Integer id : ids) {
+                CACHE.invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * Inserts students in JDBC batches, in one transaction, as {@code source}
+     * produces them, e.g. while an upload is still being parsed: only the
+     * current batch is held in memory. Rows rejected by {@code filter} are
+     * skipped and reported; an error reading the source rolls everything back.
+     */
+    public BatchResult addStudents(StudentSource source, Predicate<Student> filter) {
+        try {
+            return executeBatched(INSERT_SQL, source::forEach, filter, DEFAULT_BATCH_SIZE, this::bindInsert,
+                    "Erreur lors de l'ajout groupé des étudiants");
+        } finally {
+            DataVersion.bump();
+        }
+    }
+
+    private <T> BatchResult executeBatched(String sql, Collection<T> items, int batchSize,
+            StatementBinder<T> binder, String errorMessage) {
+        if (items.isEmpty()) {
+            return new BatchResult();
+        }
+        return executeBatched(sql, items::forEach, item -> true, batchSize, binder, errorMessage);
+    }
+
+    private <T> BatchResult executeBatched(String sql, ItemSource<T> items, Predicate<? super T> filter,
+            int batchSize, StatementBinder<T> binder, String errorMessage) {
+        BatchResult result = new BatchResult();
+        int chunkSize = Math.max(1, batchSize);
+        try {
+            dbConnection.inTransaction(conn -> {
+                StatementCache cache = dbConnection.statementCache(conn);
+                PreparedStatement stmt = cache.acquire(sql);
+                try {
+                    List<T> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+                    List<Integer> positions = new ArrayList<>(Math.min(chunkSize, 1024));
+                    int[] position = {0};
+                    items.forEach(item -> {
+                        int index = position[0]++;
+                        if (!filter.test(item)) {
+                            result.addFailure(index, "Invalid student");
+                            return;
+                        }
+                        chunk.add(item);
+                        positions.add(index);
+                        if (chunk.size() == chunkSize) {
+                            try {
+                                executeChunk(conn, sql, stmt, chunk, positions, binder, result);
+                            } catch (SQLException e) {
+                                throw new ChunkFailure(e);
+                            }
+                            chunk.clear();
+                            positions.clear();
+                        }
+                    });
+                    if (!chunk.isEmpty()) {
+                        executeChunk(conn, sql, stmt, chunk, positions, binder, result);
+                    }
+                } catch (ChunkFailure e) {
+                    throw e.getCause();
+                } catch (IOException e) {
+                    throw new SQLException("Unable to read students: " + e.getMessage(), e);
+                } finally {
+                    cache.release(stmt);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, errorMessage, e);
+            result.fail(e.getMessage());
+        }
+        return result;
+    }
+
+    private <T> void executeChunk(Connection conn, String sql, PreparedStatement stmt, List<T> chunk,
+            List<Integer> positions, StatementBinder<T> binder, BatchResult result) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            for (T item : chunk) {
+                binder.bind(stmt, item);
+                stmt.addBatch();
+            }
+            DatabaseQueryEvent event = new DatabaseQueryEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int[] counts = null;
+            try {
+                counts = stmt.executeBatch();
+            } finally {
+                dbConnection.recordBatch(event, "batch", sql, System.nanoTime() - start, chunk.size(),
+                        affectedRows(counts));
+            }
+            conn.releaseSavepoint(savepoint);
+            for (int i = 0; i < counts.length; i++) {
+                // Rewritten batched inserts report SUCCESS_NO_INFO rather than 1
+                recordRow(result, positions.get(i), counts[i]);
+            }
+            return;
+        } catch (BatchUpdateException e) {
+            conn.rollback(savepoint);
+            stmt.clearBatch();
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Savepoint rowSavepoint = conn.setSavepoint();
+            try {
+                binder.bind(stmt, chunk.get(i));
+                int count = stmt.executeUpdate();
+                conn.releaseSavepoint(rowSavepoint);
+                recordRow(result, positions.get(i), count);
+            } catch (SQLException e) {
+                conn.rollback(rowSavepoint);
+                result.addFailure(positions.get(i), e.getMessage());
+            }
+        }
+    }
+
+    private static long affectedRows(int[] counts) {
+        long rows = 0;
+        if (counts != null) {
+            for (int count : counts) {
+                rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    private static void recordRow(BatchResult result, int index, int count) {
+        if (count == 0) {
+            result.addFailure(index, "Student not found");
+        } else {
+            result.addSuccess(1);
+        }
+    }
+
+    /**
+     * Bulk loads students through PostgreSQL COPY. Rows are encoded as CSV and
+     * streamed to the server as {@code source} produces them; rows rejected by
+     * {@code filter} are skipped and reported. COPY is all-or-nothing, so any
+     * error from the source or the server aborts the whole load.
+     */
+    public BatchResult copyStudents(StudentSource source, Predicate<Student> filter) {
+        BatchResult result = new BatchResult();
+        Connection conn = null;
+        PGCopyOutputStream copyStream = null;
+        DatabaseQueryEvent event = new DatabaseQueryEvent();
+        long start = 0;
+        int[] sent = {0};
+        long copied = 0;
+        try {
+            conn = dbConnection.borrowConnection();
+            event.begin();
+            start = System.nanoTime();
+            copyStream = new PGCopyOutputStream(conn.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+            int[] index = {0};
+            StringBuilder row = new StringBuilder(96);
+            source.forEach(student -> {
+                int position = index[0]++;
+                if (!filter.test(student)) {
+                    result.addFailure(position, "Invalid student");
+                    return;
+                }
+                row.setLength(0);
+                appendCsvField(row, student.getFirstName()).append(',');
+                appendCsvField(row, student.getLastName()).append(',');
+                row.append(student.getAge()).append(',').append(student.getGrade()).append('\n');
+                try {
+                    writer.append(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                sent[0]++;
+            });
+            writer.flush();
+            copied = copyStream.endCopy();
+            result.addSuccess((int) copied);
+        } catch (IOException | SQLException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Erreur lors du chargement COPY des étudiants", e);
+            cancelCopy(copyStream);
+            result.fail(e.getMessage());
+        } finally {
+            if (copyStream != null) {
+                dbConnection.recordBatch(event, "copy", COPY_SQL, System.nanoTime() - start, sent[0], copied);
+            }
+            if (conn != null) {
+                dbConnection.releaseConnection(conn);
+            }
+            DataVersion.bump();
+        }
+        return result;
+    }
+
+    private static StringBuilder appendCsvField(StringBuilder row, String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            return row.append(value);
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+
+    private void cancelCopy(PGCopyOutputStream copyStream) {
+        if (copyStream == null || !copyStream.isActive()) {
+            return;
+        }
+        try {
+            copyStream.cancelCopy();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Unable to cancel COPY", e);
+        }
+    }
+
+    private void bindInsert(PreparedStatement stmt, Student student) throws SQLException {
+        stmt.setString(1, student.getFirstName());
+        stmt.setString(2, student.getLastName());
+        stmt.setInt(3, student.getAge());
+        stmt.setDouble(4, student.getGrade());
+    }
+
+    private void bindUpdate(PreparedStatement stmt, Student student) throws SQLException {
+        bindInsert(stmt, student);
+        stmt.setInt(5, student.getId());
+    }
+
     public boolean updateStudent(Student student) {
-        String sql = "UPDATE student SET first_name = ?, last_name = ?, age = ?, grade = ? WHERE id = ?";
+        String sql = UPDATE_SQL;
         try {
-            System.out.println("StudentDAO - Updating student: " + student);
-            int rowsAffected = dbConnection.executeUpdate(sql,
-                    student.getFirstName(), student.getLastName(), student.getAge(),
-                    student.getGrade(), student.getId());
-            System.out.println("StudentDAO - Rows affected: " + rowsAffected);
+            int rowsAffected;
+            try {
+                rowsAffected = dbConnection.executeUpdate(sql,
+                        student.getFirstName(), student.getLastName(), student.getAge(),
+                        student.getGrade(), student.getId());
+            } finally {
+                DataVersion.bump();
+                CACHE.invalidate(student.getId());
+            }
+            if (EVENTS.isEnabled(StructuredLogger.Level.DEBUG)) {
+                EVENTS.debug("student.update", "id", student.getId(), "rows", rowsAffected);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.out.println("StudentDAO - SQL Error updating student: " + e.getMessage());
+            EVENTS.error("student.update.failed", "id", student.getId(), "sqlState", e.getSQLState());
             LOGGER.log(Level.SEVERE, "Erreur lors de la mise à jour de l'étudiant", e);
             return false;
         }
     }
 
     public boolean deleteStudent(int id) {
-        String sql = "DELETE FROM student WHERE id = ?";
+        String sql = DELETE_SQL;
         try {
-            int rowsAffected = dbConnection.executeUpdate(sql, id);
+            int rowsAffected;
+            try {
+                rowsAffected = dbConnection.executeUpdate(sql, id);
+            } finally {
+                DataVersion.bump();
+                CACHE.invalidate(id);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de la suppression de l'étudiant", e);
@@ -59,11 +381,19 @@ public class StudentDAO {
     }
 
     public Student getStudentById(int id) {
+        Student cached = CACHE.get(id);
+        if (cached != null) {
+            return cached;
+        }
         String sql = "SELECT * FROM student WHERE id = ?";
-        try (ResultSet rs = dbConnection.executeQuery(sql, id)) {
-            if (rs.next()) {
-                return mapResultSetToStudent(rs);
+        try {
+            long stamp = CACHE.stamp();
+            Student student = dbConnection.query(sql, rs -> rs.next() ? mapResultSetToStudent(rs) : null, id);
+            // Misses are not cached, so inserts never leave a stale entry behind
+            if (student != null) {
+                CACHE.putIfUnchanged(student, stamp);
             }
+            return student;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de la récupération de l'étudiant", e);
         }
@@ -75,55 +405,175 @@ public class StudentDAO {
         return executeStudentQuery(sql);
     }
 
+    /**
+     * Streams every student, ordered by id, to {@code consumer} through a
+     * server-side cursor. Unlike the List-returning queries, errors are thrown
+     * so that a caller that already emitted part of the rows can tell.
+     */
+    public void forEachStudent(Consumer<Student> consumer) throws SQLException {
+        streamStudentQuery("SELECT * FROM student ORDER BY id", consumer);
+    }
+
     public List<Student> searchStudents(String criteria, Object value) {
-        String sql = "SELECT * FROM student WHERE " + criteria + " = ?";
-        return executeStudentQuery(sql, value);
+        return executeStudentQuery(new StudentQuery().where(criteria, value));
     }
 
     public List<Student> sortStudents(String field, String order) {
-        String sql = "SELECT * FROM student ORDER BY " + field + " " + order;
-        return executeStudentQuery(sql);
+        return executeStudentQuery(new StudentQuery().orderBy(field, order.equalsIgnoreCase("DESC")));
     }
 
     public List<Student> getStudentsPaginated(int offset, int limit) {
-        String sql = "SELECT * FROM student ORDER BY id LIMIT ? OFFSET ?";
-        return executeStudentQuery(sql, limit, offset);
+        return executeStudentQuery(new StudentQuery().page(offset, limit));
     }
 
-    public int getStudentCount() {
-        String sql = "SELECT COUNT(*) FROM student";
-        try (ResultSet rs = dbConnection.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt(1);
+    /**
+     * Streams the students selected by {@code query} to {@code consumer}; filter,
+     * sort and LIMIT/OFFSET paging combine into a single statement.
+     */
+    public void findStudents(StudentQuery query, Consumer<Student> consumer) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = selectSql(query, query.getLimit(), params);
+        streamStudentQuery(sql, consumer, params.toArray());
+    }
+
+    /**
+     * Keyset ("seek") pagination: instead of skipping {@code OFFSET} rows, resumes
+     * strictly after the (sort key, id) of the previous page, so every page costs
+     * an index range scan of {@code limit} rows however deep it is.
+     */
+    public StudentPage findPage(StudentQuery query) {
+        if (!query.isKeyset() || query.getLimit() <= 0) {
+            throw new IllegalArgumentException("Keyset pagination needs a positive limit");
+        }
+        int limit = query.getLimit();
+        // One extra row tells us whether there is a next page without a COUNT
+        List<Object> params = new ArrayList<>();
+        List<Student> rows = executeStudentQuery(selectSql(query, limit + 1, params), params.toArray());
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = KeysetCursor.after(query.getSortField(), query.isDescending(), rows.get(limit - 1)).encode();
+        }
+        return new StudentPage(rows, nextCursor);
+    }
+
+    public StudentPage getStudentsAfter(String field, boolean descending, KeysetCursor cursor, int limit) {
+        return findPage(new StudentQuery().orderBy(field, descending).after(cursor, limit));
+    }
+
+    static String selectSql(StudentQuery query, int limit, List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM student");
+        List<String> conditions = new ArrayList<>(2);
+        String criteria = query.getCriteria();
+        if (criteria != null) {
+            // Names match case-insensitively, through the lower(name) indexes
+            boolean name = criteria.equals("first_name") || criteria.equals("last_name");
+            conditions.add(name ? "lower(" + criteria + ") = lower(?)" : criteria + " = ?");
+            params.add(query.getValue());
+        }
+
+        String field = query.getSortField();
+        KeysetCursor cursor = query.getCursor();
+        if (cursor != null) {
+            String comparison = query.isDescending() ? " < " : " > ";
+            if (field.equals("id")) {
+                conditions.add("id" + comparison + "?");
+                params.add(cursor.getLastId());
+            } else {
+                conditions.add("(" + field + ", id)" + comparison + "(?, ?)");
+                params.add(cursor.getLastValue());
+                params.add(cursor.getLastId());
             }
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erreur lors du comptage des étudiants", e);
         }
-        return 0;
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        // id breaks ties so the order is stable and matches the (field, id) indexes
+        String direction = query.isDescending() ? " DESC" : " ASC";
+        sql.append(" ORDER BY ");
+        if (!field.equals("id")) {
+            sql.append(field).append(direction).append(", ");
+        }
+        sql.append("id").append(direction);
+
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+        if (query.getOffset() > 0) {
+            sql.append(" OFFSET ?");
+            params.add(query.getOffset());
+        }
+        return sql.toString();
+    }
+
+    public int getStudentCount() {
+        return (int) getStatistics().getCount();
     }
 
     public double getAverageGrade() {
-        String sql = "SELECT AVG(grade) FROM student";
-        try (ResultSet rs = dbConnection.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getDouble(1);
+        return getStatistics().getAverage();
+    }
+
+    /**
+     * Reads the trigger-maintained student_stats row: constant time whatever the
+     * table size. Falls back to a full aggregate if the row is missing.
+     */
+    public StudentStatistics getStatistics() {
+        String sql = "SELECT student_count, grade_sum, grade_sum_squares, grade_min, grade_max FROM student_stats WHERE id = 1";
+        String fallbackSql = "SELECT COUNT(*), COALESCE(SUM(grade), 0), COALESCE(SUM(grade * grade), 0), MIN(grade), MAX(grade) FROM student";
+        try {
+            StudentStatistics stats = dbConnection.query(sql, rs -> rs.next() ? mapStatistics(rs) : null);
+            if (stats == null) {
+                LOGGER.warning("student_stats row missing, computing statistics from the student table");
+                stats = dbConnection.query(fallbackSql, rs -> rs.next() ? mapStatistics(rs) : null);
+            }
+            if (stats != null) {
+                return stats;
             }
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Erreur lors du calcul de la moyenne", e);
+            LOGGER.log(Level.SEVERE, "Erreur lors du calcul des statistiques", e);
         }
-        return 0.0;
+        return new StudentStatistics(0, 0.0, 0.0, 0.0, 0.0);
+    }
+
+    private StudentStatistics mapStatistics(ResultSet rs) throws SQLException {
+        return new StudentStatistics(rs.getLong(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5));
+    }
+
+    private List<Student> executeStudentQuery(StudentQuery query) {
+        List<Object> params = new ArrayList<>();
+        return executeStudentQuery(selectSql(query, query.getLimit(), params), params.toArray());
     }
 
     private List<Student> executeStudentQuery(String sql, Object... params) {
-        List<Student> students = new ArrayList<>();
-        try (ResultSet rs = dbConnection.executeQuery(sql, params)) {
-            while (rs.next()) {
-                students.add(mapResultSetToStudent(rs));
-            }
+        try {
+            return dbConnection.query(sql, rs -> {
+                List<Student> students = new ArrayList<>();
+                while (rs.next()) {
+                    students.add(mapResultSetToStudent(rs));
+                }
+                return students;
+            }, params);
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de l'exécution de la requête", e);
         }
-        return students;
+        return new ArrayList<>();
+    }
+
+    public static StudentCache getCache() {
+        return CACHE;
+    }
+
+    private void streamStudentQuery(String sql, Consumer<Student> consumer, Object... params) throws SQLException {
+        dbConnection.queryStreaming(sql, rs -> {
+            while (rs.next()) {
+                consumer.accept(mapResultSetToStudent(rs));
+            }
+            return null;
+        }, params);
     }
 
     private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
@@ -134,4 +584,28 @@ public class StudentDAO {
                 rs.getInt("age"),
                 rs.getDouble("grade"));
     }
+
+    @FunctionalInterface
+    private interface StatementBinder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ItemSource<T> {
+        void forEach(Consumer<T> consumer) throws IOException, SQLException;
+    }
+
+    /** Carries a batch error out of the source's callback. */
+    private static final class ChunkFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private ChunkFailure(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.laplateforme.tracker.dao;
+
+import com.laplateforme.tracker.model.Student;
+import java.util.List;
+
+/**
+ * One page of a keyset listing and the token to fetch the page after it
+ * ({@code null} on the last page).
+ */
+public class StudentPage {
+    private final List<Student> students;
+    private final String nextCursor;
+
+    public StudentPage(List<Student> students, String nextCursor) {
+        this.students = students;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Student> getStudents() { return students; }
+
+    public String getNextCursor() { return nextCursor; }
+}
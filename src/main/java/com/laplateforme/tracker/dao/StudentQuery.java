@@ -0,0 +1,79 @@
+package com.laplateforme.tracker.dao;
+
+import java.util.Set;
+
+/**
+ * Listing criteria for {@link StudentDAO#findStudents} and {@link StudentDAO#findPage}:
+ * an optional equality filter, a sort order (id breaks ties) and either
+ * LIMIT/OFFSET or keyset pagination. Field names are checked here because they
+ * end up in the SQL text.
+ */
+public class StudentQuery {
+    private static final Set<String> SEARCH_FIELDS = Set.of("first_name", "last_name", "age", "grade");
+
+    private String criteria;
+    private Object value;
+    private String sortField = "id";
+    private boolean descending;
+    private int offset;
+    private int limit;
+    private KeysetCursor cursor;
+    private boolean keyset;
+
+    public StudentQuery where(String criteria, Object value) {
+        if (!isSearchField(criteria)) {
+            throw new IllegalArgumentException("Invalid search criteria: " + criteria);
+        }
+        this.criteria = criteria;
+        this.value = value;
+        return this;
+    }
+
+    public static boolean isSearchField(String field) {
+        return SEARCH_FIELDS.contains(field);
+    }
+
+    public StudentQuery orderBy(String field, boolean descending) {
+        if (!KeysetCursor.isSortField(field)) {
+            throw new IllegalArgumentException("Invalid sort field: " + field);
+        }
+        this.sortField = field;
+        this.descending = descending;
+        return this;
+    }
+
+    public StudentQuery page(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+        this.keyset = false;
+        return this;
+    }
+
+    /**
+     * @param cursor position returned with the previous page, or {@code null} for the first page
+     */
+    public StudentQuery after(KeysetCursor cursor, int limit) {
+        this.cursor = cursor;
+        this.limit = limit;
+        this.offset = 0;
+        this.keyset = true;
+        return this;
+    }
+
+    public String getCriteria() { return criteria; }
+
+    public Object getValue() { return value; }
+
+    public String getSortField() { return sortField; }
+
+    public boolean isDescending() { return descending; }
+
+    public int getOffset() { return offset; }
+
+    /** 0 means no limit. */
+    public int getLimit() { return limit; }
+
+    public KeysetCursor getCursor() { return cursor; }
+
+    public boolean isKeyset() { return keyset; }
+}
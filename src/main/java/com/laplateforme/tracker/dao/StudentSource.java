@@ -0,0 +1,16 @@
+package com.laplateforme.tracker.dao;
+
+import com.laplateforme.tracker.model.Student;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Push-style producer of students, e.g. a file being parsed row by row or a
+ * database cursor. Lets bulk loads and exports consume rows as they are read
+ * instead of from a List.
+ */
+@FunctionalInterface
+public interface StudentSource {
+    void forEach(Consumer<Student> consumer) throws IOException, SQLException;
+}
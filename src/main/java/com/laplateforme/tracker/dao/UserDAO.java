@@ -27,14 +27,13 @@ public class UserDAO {
 
     public User getUserByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
-        try (ResultSet rs = dbConnection.executeQuery(sql, username)) {
-            if (rs.next()) {
-                return new User(
-                    rs.getInt("id"),
-                    rs.getString("username"),
-                    rs.getString("password")
-                );
-            }
+        try {
+            return dbConnection.query(sql, rs -> rs.next()
+                    ? new User(
+                        rs.getInt("id"),
+                        rs.getString("username"),
+                        rs.getString("password"))
+                    : null, username);
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving user", e);
         }
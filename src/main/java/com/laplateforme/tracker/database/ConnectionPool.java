@@ -0,0 +1,242 @@
+package com.laplateforme.tracker.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fixed-bounds JDBC connection pool.
+ * Idle connections are reused most-recently-used first, validated on borrow,
+ * evicted once idle for too long, and leases held past the leak threshold are
+ * reported with the stack trace of the borrower.
+ */
+public class ConnectionPool {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int validationTimeoutSeconds;
+
+    private final LinkedBlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Lease> leased = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile Consumer<Connection> discardListener = c -> { };
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String username, String password, int minSize, int maxSize,
+            long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+            int validationTimeoutSeconds) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool bounds: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        fillToMinimum();
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, leakThresholdMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+        LOGGER.info("Connection pool started (min=" + minSize + ", max=" + maxSize + ")");
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection connection = takeValidIdleConnection();
+            if (connection == null) {
+                connection = openConnection();
+            }
+            leased.put(connection, new Lease(System.currentTimeMillis(), new Exception("Connection borrowed here")));
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Connection connection) {
+        if (connection == null || leased.remove(connection) == null) {
+            return;
+        }
+        try {
+            if (closed || connection.isClosed()) {
+                discard(connection);
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            idle.offerFirst(new IdleConnection(connection, System.currentTimeMillis()));
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding connection that could not be reset", e);
+            discard(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Registers a callback run just before a physical connection is closed,
+     * so per-connection state (such as statement caches) can be dropped with it.
+     */
+    public void setDiscardListener(Consumer<Connection> discardListener) {
+        this.discardListener = discardListener;
+    }
+
+    public int getActiveCount() {
+        return leased.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry.connection);
+        }
+        for (Connection connection : leased.keySet()) {
+            discard(connection);
+        }
+        leased.clear();
+        LOGGER.info("Connection pool closed");
+    }
+
+    private Connection takeValidIdleConnection() {
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            try {
+                if (entry.connection.isValid(validationTimeoutSeconds)) {
+                    return entry.connection;
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Connection validation failed", e);
+            }
+            discard(entry.connection);
+        }
+        return null;
+    }
+
+    private Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, username, password);
+        totalConnections.incrementAndGet();
+        return connection;
+    }
+
+    private void discard(Connection connection) {
+        try {
+            discardListener.accept(connection);
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing pooled connection", e);
+        } finally {
+            totalConnections.decrementAndGet();
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize) {
+            try {
+                idle.offerLast(new IdleConnection(openConnection(), System.currentTimeMillis()));
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Unable to pre-open pooled connection", e);
+                return;
+            }
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Oldest idle connections sit at the tail of the deque
+        Iterator<IdleConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minSize) {
+            IdleConnection entry = it.next();
+            if (now - entry.lastUsed >= idleTimeoutMillis && idle.removeFirstOccurrence(entry)) {
+                discard(entry.connection);
+            }
+        }
+        fillToMinimum();
+
+        for (Lease lease : leased.values()) {
+            if (!lease.reported && now - lease.borrowedAt >= leakThresholdMillis) {
+                lease.reported = true;
+                LOGGER.log(Level.WARNING, "Possible connection leak: connection held for "
+                        + (now - lease.borrowedAt) + " ms", lease.origin);
+            }
+        }
+    }
+
+    private static final class IdleConnection {
+        private final Connection connection;
+        private final long lastUsed;
+
+        private IdleConnection(Connection connection, long lastUsed) {
+            this.connection = connection;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private static final class Lease {
+        private final long borrowedAt;
+        private final Exception origin;
+        private volatile boolean reported;
+
+        private Lease(long borrowedAt, Exception origin) {
+            this.borrowedAt = borrowedAt;
+            this.origin = origin;
+        }
+    }
+}
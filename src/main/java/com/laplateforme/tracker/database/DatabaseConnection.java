@@ -1,17 +1,34 @@
 package com.laplateforme.tracker.database;
 
 import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class DatabaseConnection {
     private static final String DEFAULT_DB_URL = "jdbc:postgresql://localhost:5432/postgres";
     private static final String TARGET_DB = "student_tracker";
-    private static final String URL = "jdbc:postgresql://localhost:5432/" + TARGET_DB;
+    // reWriteBatchedInserts lets the driver turn JDBC batches into multi-row INSERTs
+    private static final String URL = "jdbc:postgresql://localhost:5432/" + TARGET_DB + "?reWriteBatchedInserts=true";
     private static final String USERNAME = "postgres";
     private static final String PASSWORD = "1111";
+    private static final boolean POOL_ENABLED = Boolean.parseBoolean(System.getProperty("tracker.db.pool.enabled", "true"));
+    private static final int POOL_MIN_SIZE = Integer.getInteger("tracker.db.pool.minSize", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("tracker.db.pool.maxSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("tracker.db.pool.borrowTimeoutMs", 5000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("tracker.db.pool.idleTimeoutMs", 300000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("tracker.db.pool.leakThresholdMs", 60000L);
+    private static final int POOL_VALIDATION_TIMEOUT_S = Integer.getInteger("tracker.db.pool.validationTimeoutSeconds", 2);
+    private static final int FETCH_SIZE = Integer.getInteger("tracker.db.fetchSize", 500);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("tracker.db.statementCacheSize", 64);
     private static DatabaseConnection instance;
     private Connection connection;
+    private ConnectionPool pool;
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final QueryStats queryStats = new QueryStats();
     private static final Logger LOGGER = Logger.getLogger(DatabaseConnection.class.getName());
 
     private DatabaseConnection() {
@@ -32,6 +49,11 @@ public class DatabaseConnection {
                     throw e;
                 }
             }
+            if (POOL_ENABLED) {
+                attachPool(new ConnectionPool(URL, USERNAME, PASSWORD, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                        POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS,
+                        POOL_VALIDATION_TIMEOUT_S));
+            }
             LOGGER.info("Connexion à la base de données établie avec succès");
         } catch (ClassNotFoundException | SQLException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de la connexion à la base de données", e);
@@ -39,6 +61,21 @@ public class DatabaseConnection {
         }
     }
 
+    // Runs every statement through the given pool, without the shared connection
+    DatabaseConnection(ConnectionPool pool) {
+        attachPool(pool);
+    }
+
+    private void attachPool(ConnectionPool pool) {
+        this.pool = pool;
+        pool.setDiscardListener(conn -> {
+            StatementCache cache = statementCaches.remove(conn);
+            if (cache != null) {
+                cache.close();
+            }
+        });
+    }
+
     public static synchronized DatabaseConnection getInstance() {
         if (instance == null) {
             instance = new DatabaseConnection();
@@ -58,7 +95,50 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Borrows a connection for the duration of one unit of work.
+     * Every borrowed connection must be handed back with {@link #releaseConnection(Connection)}.
+     * Without a pool this returns the shared connection.
+     */
+    public Connection borrowConnection() throws SQLException {
+        return pool != null ? pool.borrow() : getConnection();
+    }
+
+    public void releaseConnection(Connection conn) {
+        if (pool != null) {
+            pool.release(conn);
+        }
+    }
+
+    /**
+     * Returns the prepared-statement cache of a borrowed connection.
+     * The shared connection of the non-pooled mode is used by several threads at
+     * once, so it gets a pass-through cache that closes statements on release.
+     */
+    public StatementCache statementCache(Connection conn) {
+        if (pool == null) {
+            return new StatementCache(conn, 0);
+        }
+        return statementCaches.computeIfAbsent(conn, c -> new StatementCache(c, STATEMENT_CACHE_SIZE));
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Timing of the statements run through this class. Code that executes
+     * statements directly on a borrowed connection reports them here itself.
+     */
+    public QueryStats getQueryStats() {
+        return queryStats;
+    }
+
     public void closeConnection() {
+        if (pool != null) {
+            pool.close();
+        }
+        statementCaches.clear();
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
@@ -69,16 +149,169 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Runs a query and hands its rows to {@code handler} while the statement is open.
+     * The statement, result set and connection are all released before returning,
+     * so nothing read from the ResultSet may escape the handler.
+     */
+    public <T> T query(String sql, ResultSetHandler<T> handler, Object... params) throws SQLException {
+        Connection conn = borrowConnection();
+        StatementCache cache = statementCache(conn);
+        PreparedStatement stmt = null;
+        DatabaseQueryEvent event = new DatabaseQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            // Inside the try: a failed prepare must still hand the connection back
+            stmt = cache.acquire(sql);
+            setParameters(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return handler.handle(event.isEnabled() ? event.countRows(rs) : rs);
+            }
+        } finally {
+            queryStats.record(sql, System.nanoTime() - start, params);
+            commitEvent(event, "query", sql);
+            if (stmt != null) {
+                cache.release(stmt);
+            }
+            releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Runs {@code callback} in a single transaction on one borrowed connection.
+     * Commits on normal return, rolls back if the callback throws.
+     * Without a pool the transaction gets a dedicated connection, closed afterwards:
+     * turning autocommit off on the shared one would pull the statements of every
+     * other thread into this transaction.
+     */
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        Connection conn = pool != null ? pool.borrow() : DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        boolean previousAutoCommit = conn.getAutoCommit();
+        try {
+            conn.setAutoCommit(false);
+            T result = callback.execute(conn);
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw e;
+        } finally {
+            if (pool != null) {
+                try {
+                    conn.setAutoCommit(previousAutoCommit);
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Unable to restore autocommit", e);
+                }
+                pool.release(conn);
+            } else {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Erreur lors de la fermeture de la connexion", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Like {@link #query}, but lets the driver fetch rows in chunks through a
+     * server-side cursor instead of buffering the whole result, so the handler can
+     * walk arbitrarily large tables in constant memory. PostgreSQL only honours
+     * the fetch size with autocommit off, hence the (read-only) transaction.
+     * That transaction never runs on the shared connection of the non-pooled
+     * mode: without a pool every stream opens, and holds for the whole scan,
+     * a connection of its own, so run with the pool where exports are frequent.
+     */
+    public <T> T queryStreaming(String sql, ResultSetHandler<T> handler, Object... params) throws SQLException {
+        return inTransaction(conn -> {
+            StatementCache cache = statementCache(conn);
+            // inTransaction hands the connection back even if this prepare fails
+            PreparedStatement stmt = cache.acquire(sql);
+            DatabaseQueryEvent event = new DatabaseQueryEvent();
+            event.begin();
+            try {
+                stmt.setFetchSize(FETCH_SIZE);
+                setParameters(stmt, params);
+                // Only the execution and first fetch are timed, the handler may
+                // spend any time consuming the rows
+                long start = System.nanoTime();
+                ResultSet rs;
+                try {
+                    rs = stmt.executeQuery();
+                } finally {
+                    queryStats.record(sql, System.nanoTime() - start, params);
+                }
+                try (rs) {
+                    return handler.handle(event.isEnabled() ? event.countRows(rs) : rs);
+                }
+            } finally {
+                // Unlike the stats above, the event spans the handler and its row count
+                commitEvent(event, "stream", sql);
+                stmt.setFetchSize(0);
+                cache.release(stmt);
+            }
+        });
+    }
+
+    /**
+     * Runs a query and returns a disconnected copy of its rows, so the
+     * connection goes back to the pool before the caller reads the result.
+     * Prefer {@link #query} on hot paths, it avoids the copy.
+     */
     public ResultSet executeQuery(String sql, Object... params) throws SQLException {
-        PreparedStatement stmt = getConnection().prepareStatement(sql);
-        setParameters(stmt, params);
-        return stmt.executeQuery();
+        return query(sql, rs -> {
+            CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+            rows.populate(rs);
+            return rows;
+        }, params);
     }
 
     public int executeUpdate(String sql, Object... params) throws SQLException {
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
+        Connection conn = borrowConnection();
+        StatementCache cache = statementCache(conn);
+        PreparedStatement stmt = null;
+        DatabaseQueryEvent event = new DatabaseQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            stmt = cache.acquire(sql);
             setParameters(stmt, params);
-            return stmt.executeUpdate();
+            int count = stmt.executeUpdate();
+            event.rowCount = count;
+            return count;
+        } finally {
+            queryStats.record(sql, System.nanoTime() - start, params);
+            commitEvent(event, "update", sql);
+            if (stmt != null) {
+                cache.release(stmt);
+            }
+            releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Reports a batch that DAO code executed directly on a borrowed connection,
+     * such as a JDBC batch or a COPY, like the statements run through this class.
+     * {@code event} must have been begun before the batch was sent.
+     */
+    public void recordBatch(DatabaseQueryEvent event, String operation, String sql,
+            long elapsedNanos, int batchSize, long rowCount) {
+        queryStats.recordBatch(sql, elapsedNanos, batchSize);
+        event.rowCount = rowCount;
+        commitEvent(event, operation, sql);
+    }
+
+    private void commitEvent(DatabaseQueryEvent event, String operation, String sql) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.sql = queryStats.normalizedSql(sql);
+            event.commit();
         }
     }
 
@@ -89,27 +322,8 @@ public class DatabaseConnection {
     }
 
     public void initDatabase() {
-        String createStudentTableSQL = """
-                CREATE TABLE IF NOT EXISTS student (
-                    id SERIAL PRIMARY KEY,
-                    first_name VARCHAR(50) NOT NULL,
-                    last_name VARCHAR(50) NOT NULL,
-                    age INTEGER NOT NULL CHECK (age > 0),
-                    grade DECIMAL(4,2) NOT NULL CHECK (grade >= 0 AND grade <= 20)
-                )
-                """;
-
-        String createUserTableSQL = """
-                CREATE TABLE IF NOT EXISTS users (
-                    id SERIAL PRIMARY KEY,
-                    username VARCHAR(50) UNIQUE NOT NULL,
-                    password VARCHAR(100) NOT NULL
-                )
-                """;
-
         try {
-            executeUpdate(createStudentTableSQL);
-            executeUpdate(createUserTableSQL);
+            SchemaMigrations.migrate(this);
             LOGGER.info("Tables 'student' and 'users' created or verified successfully");
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error creating tables", e);
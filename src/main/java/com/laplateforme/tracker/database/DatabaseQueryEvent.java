@@ -0,0 +1,54 @@
+package com.laplateforme.tracker.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one statement run through DatabaseConnection,
+ * from execution until its handler has read the last row, or for one JDBC
+ * batch or COPY a DAO sent on a borrowed connection. The stack trace
+ * points at the DAO method that issued it.
+ */
+@Name("com.laplateforme.tracker.DatabaseQuery")
+@Label("Database Query")
+@Category({"Student Tracker", "Database"})
+@Description("A SQL statement run through DatabaseConnection")
+public final class DatabaseQueryEvent extends Event {
+    @Label("SQL")
+    @Description("Statement with literals replaced by ?")
+    String sql;
+
+    @Label("Operation")
+    @Description("query, stream, update, batch or copy")
+    String operation;
+
+    @Label("Row Count")
+    @Description("Rows read by the handler, or rows affected by an update")
+    long rowCount;
+
+    /**
+     * Wraps {@code rs} so that every row the handler moves to is counted.
+     * Only worth its cost while the event is enabled in a recording.
+     */
+    ResultSet countRows(ResultSet rs) {
+        return (ResultSet) Proxy.newProxyInstance(DatabaseQueryEvent.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                        rowCount++;
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,169 @@
+package com.laplateforme.tracker.database;
+
+import com.laplateforme.tracker.metrics.LatencyHistogram;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement timing, grouped by normalized SQL (literals replaced by
+ * {@code ?}, whitespace collapsed): call count, total and max time and a
+ * latency histogram. Statements slower than {@code tracker.db.slowQueryThresholdMs}
+ * are written to the slow-query log with the types of their bind parameters,
+ * never their values. The log goes to {@code tracker.db.slowQueryLog}
+ * ({@code slow-queries.log} by default; empty to use the regular log), opened
+ * on the first slow query.
+ */
+public final class QueryStats {
+    private static final Logger LOGGER = Logger.getLogger(QueryStats.class.getName());
+    private static final long SLOW_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("tracker.db.slowQueryThresholdMs", 200L));
+    private static final String SLOW_LOG_FILE = System.getProperty("tracker.db.slowQueryLog", "slow-queries.log");
+    // Raw SQL strings come from a bounded set of code paths; the cap guards against unexpected growth
+    private static final int MAX_CACHED_SQL = 10_000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Entry> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byNormalizedSql = new ConcurrentHashMap<>();
+
+    public void record(String sql, long elapsedNanos, Object... params) {
+        record(sql, elapsedNanos, () -> parameterShape(params));
+    }
+
+    public void recordBatch(String sql, long elapsedNanos, int batchSize) {
+        record(sql, elapsedNanos, () -> "batch of " + batchSize);
+    }
+
+    private void record(String sql, long elapsedNanos, Supplier<String> shape) {
+        Entry entry = entryFor(sql);
+        entry.histogram.record(elapsedNanos);
+        entry.totalNanos.add(elapsedNanos);
+        if (elapsedNanos >= SLOW_THRESHOLD_NANOS && SlowLog.LOGGER.isLoggable(Level.WARNING)) {
+            SlowLog.LOGGER.warning(String.format("%.1f ms | %s | %s",
+                    elapsedNanos / 1e6, entry.normalizedSql, shape.get()));
+        }
+    }
+
+    /** Normalized form of {@code sql}, cached like the statement's timings. */
+    String normalizedSql(String sql) {
+        return entryFor(sql).normalizedSql;
+    }
+
+    /**
+     * @return the statements with the highest total time, highest first
+     */
+    public List<Snapshot> top(int limit) {
+        List<Snapshot> snapshots = new ArrayList<>(byNormalizedSql.size());
+        for (Entry entry : byNormalizedSql.values()) {
+            snapshots.add(new Snapshot(entry));
+        }
+        snapshots.sort(Comparator.comparingLong(Snapshot::getTotalNanos).reversed());
+        return snapshots.size() > limit ? snapshots.subList(0, limit) : snapshots;
+    }
+
+    private Entry entryFor(String sql) {
+        Entry entry = byRawSql.get(sql);
+        if (entry != null) {
+            return entry;
+        }
+        String normalized = normalize(sql);
+        entry = byNormalizedSql.computeIfAbsent(normalized, Entry::new);
+        if (byRawSql.size() < MAX_CACHED_SQL) {
+            byRawSql.putIfAbsent(sql, entry);
+        }
+        return entry;
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static String parameterShape(Object[] params) {
+        StringBuilder shape = new StringBuilder("params: [");
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                shape.append(", ");
+            }
+            shape.append(params[i] == null ? "null" : params[i].getClass().getSimpleName());
+        }
+        return shape.append(']').toString();
+    }
+
+    /**
+     * Holder for the slow-query logger: its file is only created when the
+     * first slow query is logged, not whenever statements are timed.
+     */
+    private static final class SlowLog {
+        private static final Logger LOGGER = Logger.getLogger("com.laplateforme.tracker.slowquery");
+
+        static {
+            if (!SLOW_LOG_FILE.isEmpty()) {
+                try {
+                    FileHandler handler = new FileHandler(SLOW_LOG_FILE, true);
+                    handler.setFormatter(new SimpleFormatter());
+                    LOGGER.addHandler(handler);
+                    LOGGER.setUseParentHandlers(false);
+                } catch (IOException e) {
+                    QueryStats.LOGGER.log(Level.WARNING, "Unable to open slow query log " + SLOW_LOG_FILE
+                            + ", slow queries go to the regular log", e);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String normalizedSql;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder totalNanos = new LongAdder();
+
+        private Entry(String normalizedSql) {
+            this.normalizedSql = normalizedSql;
+        }
+    }
+
+    /** Point-in-time figures for one normalized statement. */
+    public static final class Snapshot {
+        private final String sql;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        private Snapshot(Entry entry) {
+            this.sql = entry.normalizedSql;
+            this.count = entry.histogram.getCount();
+            this.totalNanos = entry.totalNanos.sum();
+            this.maxNanos = entry.histogram.getMax();
+            this.p50Nanos = entry.histogram.getValueAtQuantile(0.5);
+            this.p99Nanos = entry.histogram.getValueAtQuantile(0.99);
+        }
+
+        public String getSql() { return sql; }
+
+        public long getCount() { return count; }
+
+        public long getTotalNanos() { return totalNanos; }
+
+        public long getMaxNanos() { return maxNanos; }
+
+        public long getP50Nanos() { return p50Nanos; }
+
+        public long getP99Nanos() { return p99Nanos; }
+    }
+}
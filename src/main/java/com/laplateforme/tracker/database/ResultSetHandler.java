@@ -0,0 +1,13 @@
+package com.laplateforme.tracker.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the rows of an open ResultSet. Used by {@link DatabaseConnection#query}
+ * so statement and connection lifetime stay inside DatabaseConnection.
+ */
+@FunctionalInterface
+public interface ResultSetHandler<T> {
+    T handle(ResultSet rs) throws SQLException;
+}
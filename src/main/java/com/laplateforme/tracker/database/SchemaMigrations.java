@@ -0,0 +1,233 @@
+package com.laplateforme.tracker.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Ordered, versioned schema changes. The highest applied version is recorded in
+ * {@code schema_version}; on startup only newer migrations run, each in its own
+ * transaction together with its version row. Never edit a released migration,
+ * append a new one instead.
+ */
+public final class SchemaMigrations {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrations.class.getName());
+
+    // Arbitrary key for pg_advisory_xact_lock, serializes servers starting at the same time
+    private static final long MIGRATION_LOCK_KEY = 0x5354554445L;
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create student and users tables",
+                    """
+                    CREATE TABLE IF NOT EXISTS student (
+                        id SERIAL PRIMARY KEY,
+                        first_name VARCHAR(50) NOT NULL,
+                        last_name VARCHAR(50) NOT NULL,
+                        age INTEGER NOT NULL CHECK (age > 0),
+                        grade DECIMAL(4,2) NOT NULL CHECK (grade >= 0 AND grade <= 20)
+                    )
+                    """,
+                    """
+                    CREATE TABLE IF NOT EXISTS users (
+                        id SERIAL PRIMARY KEY,
+                        username VARCHAR(50) UNIQUE NOT NULL,
+                        password VARCHAR(100) NOT NULL
+                    )
+                    """),
+            // (field, id) serves both "WHERE field = ?" searches and the stable
+            // "ORDER BY field, id" used by sorting and keyset pagination;
+            // lower(name) serves the case-insensitive name searches
+            new Migration(2, "Add search and sort indexes on student",
+                    "CREATE INDEX IF NOT EXISTS idx_student_first_name_id ON student (first_name, id)",
+                    "CREATE INDEX IF NOT EXISTS idx_student_last_name_id ON student (last_name, id)",
+                    "CREATE INDEX IF NOT EXISTS idx_student_age_id ON student (age, id)",
+                    "CREATE INDEX IF NOT EXISTS idx_student_grade_id ON student (grade, id)",
+                    "CREATE INDEX IF NOT EXISTS idx_student_lower_first_name ON student (lower(first_name))",
+                    "CREATE INDEX IF NOT EXISTS idx_student_lower_last_name ON student (lower(last_name))",
+                    "ANALYZE student"),
+            // Single-row summary kept current by statement-level triggers, so
+            // statistics are O(1) reads and batched inserts or COPY update it once per statement
+            new Migration(3, "Maintain student grade statistics incrementally",
+                    """
+                    CREATE TABLE IF NOT EXISTS student_stats (
+                        id SMALLINT PRIMARY KEY CHECK (id = 1),
+                        student_count BIGINT NOT NULL,
+                        grade_sum NUMERIC NOT NULL,
+                        grade_sum_squares NUMERIC NOT NULL,
+                        grade_min DECIMAL(4,2),
+                        grade_max DECIMAL(4,2)
+                    )
+                    """,
+                    """
+                    INSERT INTO student_stats
+                    SELECT 1, COUNT(*), COALESCE(SUM(grade), 0), COALESCE(SUM(grade * grade), 0), MIN(grade), MAX(grade)
+                    FROM student
+                    ON CONFLICT (id) DO NOTHING
+                    """,
+                    """
+                    CREATE OR REPLACE FUNCTION student_stats_after_insert() RETURNS trigger AS $$
+                    BEGIN
+                        UPDATE student_stats s SET
+                            student_count = s.student_count + d.cnt,
+                            grade_sum = s.grade_sum + d.total,
+                            grade_sum_squares = s.grade_sum_squares + d.squares,
+                            grade_min = LEAST(s.grade_min, d.lo),
+                            grade_max = GREATEST(s.grade_max, d.hi)
+                        FROM (SELECT COUNT(*) AS cnt, COALESCE(SUM(grade), 0) AS total,
+                                     COALESCE(SUM(grade * grade), 0) AS squares, MIN(grade) AS lo, MAX(grade) AS hi
+                              FROM new_rows) d
+                        WHERE s.id = 1;
+                        RETURN NULL;
+                    END;
+                    $$ LANGUAGE plpgsql
+                    """,
+                    """
+                    CREATE OR REPLACE FUNCTION student_stats_after_update() RETURNS trigger AS $$
+                    BEGIN
+                        UPDATE student_stats s SET
+                            grade_sum = s.grade_sum - o.total + n.total,
+                            grade_sum_squares = s.grade_sum_squares - o.squares + n.squares,
+                            grade_min = LEAST(s.grade_min, n.lo),
+                            grade_max = GREATEST(s.grade_max, n.hi)
+                        FROM (SELECT COALESCE(SUM(grade), 0) AS total, COALESCE(SUM(grade * grade), 0) AS squares
+                              FROM old_rows) o,
+                             (SELECT COALESCE(SUM(grade), 0) AS total, COALESCE(SUM(grade * grade), 0) AS squares,
+                                     MIN(grade) AS lo, MAX(grade) AS hi
+                              FROM new_rows) n
+                        WHERE s.id = 1;
+                        -- Min and max cannot be maintained by subtraction: when a removed grade sat
+                        -- on a bound, look it up again (one probe of idx_student_grade_id each)
+                        UPDATE student_stats s SET
+                            grade_min = (SELECT MIN(grade) FROM student),
+                            grade_max = (SELECT MAX(grade) FROM student)
+                        WHERE s.id = 1
+                          AND EXISTS (SELECT 1 FROM old_rows o WHERE o.grade <= s.grade_min OR o.grade >= s.grade_max);
+                        RETURN NULL;
+                    END;
+                    $$ LANGUAGE plpgsql
+                    """,
+                    """
+                    CREATE OR REPLACE FUNCTION student_stats_after_delete() RETURNS trigger AS $$
+                    BEGIN
+                        UPDATE student_stats s SET
+                            student_count = s.student_count - d.cnt,
+                            grade_sum = s.grade_sum - d.total,
+                            grade_sum_squares = s.grade_sum_squares - d.squares
+                        FROM (SELECT COUNT(*) AS cnt, COALESCE(SUM(grade), 0) AS total,
+                                     COALESCE(SUM(grade * grade), 0) AS squares
+                              FROM old_rows) d
+                        WHERE s.id = 1;
+                        -- Min and max cannot be maintained by subtraction: when a removed grade sat
+                        -- on a bound, look it up again (one probe of idx_student_grade_id each)
+                        UPDATE student_stats s SET
+                            grade_min = (SELECT MIN(grade) FROM student),
+                            grade_max = (SELECT MAX(grade) FROM student)
+                        WHERE s.id = 1
+                          AND EXISTS (SELECT 1 FROM old_rows o WHERE o.grade <= s.grade_min OR o.grade >= s.grade_max);
+                        RETURN NULL;
+                    END;
+                    $$ LANGUAGE plpgsql
+                    """,
+                    """
+                    CREATE OR REPLACE FUNCTION student_stats_after_truncate() RETURNS trigger AS $$
+                    BEGIN
+                        UPDATE student_stats SET student_count = 0, grade_sum = 0, grade_sum_squares = 0,
+                            grade_min = NULL, grade_max = NULL
+                        WHERE id = 1;
+                        RETURN NULL;
+                    END;
+                    $$ LANGUAGE plpgsql
+                    """,
+                    "DROP TRIGGER IF EXISTS student_stats_insert ON student",
+                    "DROP TRIGGER IF EXISTS student_stats_update ON student",
+                    "DROP TRIGGER IF EXISTS student_stats_delete ON student",
+                    "DROP TRIGGER IF EXISTS student_stats_truncate ON student",
+                    """
+                    CREATE TRIGGER student_stats_insert AFTER INSERT ON student
+                    REFERENCING NEW TABLE AS new_rows
+                    FOR EACH STATEMENT EXECUTE FUNCTION student_stats_after_insert()
+                    """,
+                    """
+                    CREATE TRIGGER student_stats_update AFTER UPDATE ON student
+                    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+                    FOR EACH STATEMENT EXECUTE FUNCTION student_stats_after_update()
+                    """,
+                    """
+                    CREATE TRIGGER student_stats_delete AFTER DELETE ON student
+                    REFERENCING OLD TABLE AS old_rows
+                    FOR EACH STATEMENT EXECUTE FUNCTION student_stats_after_delete()
+                    """,
+                    """
+                    CREATE TRIGGER student_stats_truncate AFTER TRUNCATE ON student
+                    FOR EACH STATEMENT EXECUTE FUNCTION student_stats_after_truncate()
+                    """));
+
+    private SchemaMigrations() {
+    }
+
+    public static void migrate(DatabaseConnection db) throws SQLException {
+        db.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description VARCHAR(200) NOT NULL,
+                    applied_at TIMESTAMP NOT NULL DEFAULT now()
+                )
+                """);
+
+        int current = currentVersion(db);
+        Migration latest = MIGRATIONS.get(MIGRATIONS.size() - 1);
+        if (current >= latest.version) {
+            LOGGER.info("Schema up to date (version " + current + ")");
+            return;
+        }
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version > current) {
+                db.inTransaction(conn -> apply(conn, migration));
+            }
+        }
+    }
+
+    private static int currentVersion(DatabaseConnection db) throws SQLException {
+        return db.query("SELECT COALESCE(MAX(version), 0) FROM schema_version", rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+
+    private static Void apply(Connection conn, Migration migration) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK_KEY + ")");
+            // Another server may have applied it while we waited for the lock
+            try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM schema_version WHERE version = " + migration.version)) {
+                if (rs.next()) {
+                    return null;
+                }
+            }
+            for (String sql : migration.statements) {
+                stmt.execute(sql);
+            }
+        }
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            insert.setInt(1, migration.version);
+            insert.setString(2, migration.description);
+            insert.executeUpdate();
+        }
+        LOGGER.info("Applied schema migration " + migration.version + ": " + migration.description);
+        return null;
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+
+        private Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+}
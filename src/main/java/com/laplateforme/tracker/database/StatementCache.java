@@ -0,0 +1,96 @@
+package com.laplateforme.tracker.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded LRU cache of prepared statements for a single connection, keyed by SQL text.
+ * Reusing the same PreparedStatement lets the PostgreSQL driver switch to a
+ * server-side prepared plan after a few executions. A cache is only ever used by
+ * the thread currently holding its connection, so it is not synchronized.
+ * A capacity of 0 disables caching: statements are closed on release.
+ */
+public class StatementCache {
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    private final Connection connection;
+    private final int capacity;
+    private final Map<String, PreparedStatement> statements;
+
+    public StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PreparedStatement acquire(String sql) throws SQLException {
+        if (capacity == 0) {
+            return connection.prepareStatement(sql);
+        }
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = connection.prepareStatement(sql);
+            statements.put(sql, stmt);
+        }
+        return stmt;
+    }
+
+    /**
+     * Hands a statement back after use: cached statements are reset for the next
+     * caller, uncached ones are closed.
+     */
+    public void release(PreparedStatement stmt) {
+        if (capacity == 0) {
+            closeQuietly(stmt);
+            return;
+        }
+        try {
+            if (stmt.isClosed()) {
+                // Already evicted while it was in use
+                return;
+            }
+            stmt.clearParameters();
+            stmt.clearBatch();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Dropping statement that could not be reset", e);
+            statements.values().remove(stmt);
+            closeQuietly(stmt);
+        }
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    public void close() {
+        for (PreparedStatement stmt : statements.values()) {
+            closeQuietly(stmt);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing prepared statement", e);
+        }
+    }
+}
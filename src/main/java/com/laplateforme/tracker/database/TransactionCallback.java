@@ -0,0 +1,13 @@
+package com.laplateforme.tracker.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Unit of work run by {@link DatabaseConnection#inTransaction} on a connection
+ * with autocommit turned off.
+ */
+@FunctionalInterface
+public interface TransactionCallback<T> {
+    T execute(Connection conn) throws SQLException;
+}
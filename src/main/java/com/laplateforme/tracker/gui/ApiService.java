@@ -1,25 +1,56 @@
 package com.laplateforme.tracker.gui;
 
 import com.laplateforme.tracker.model.Student;
+import com.laplateforme.tracker.utils.FileManager;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.StringReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
 import java.util.logging.Level;
 
 public class ApiService {
   private static final String BASE_URL = "http://localhost:8080";
   private static final Logger LOGGER = Logger.getLogger(ApiService.class.getName());
+  private static final int RESPONSE_CACHE_SIZE = 64;
+  // Large imports and exports can take minutes end to end
+  private static final int TRANSFER_READ_TIMEOUT_MS = 10 * 60 * 1000;
+  private final String baseUrl;
+  private final FileManager fileManager = new FileManager();
+  // Last ETag and body per GET endpoint, replayed when the server answers 304
+  private final Map<String, CachedResponse> responseCache = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+          return size() > RESPONSE_CACHE_SIZE;
+        }
+      });
+
+  public ApiService() {
+    this(BASE_URL);
+  }
+
+  ApiService(String baseUrl) {
+    this.baseUrl = baseUrl;
+  }
 
   // Authentication
   public boolean login(String username, String password) {
@@ -222,27 +253,28 @@ public class ApiService {
   }
 
   // Import/Export
+  /**
+   * Downloads the export stream into the local file.
+   */
   public boolean exportStudents(String format, String filename) {
     try {
-      String query = String.format("format=%s&filename=%s",
-          URLEncoder.encode(format, StandardCharsets.UTF_8),
-          URLEncoder.encode(filename, StandardCharsets.UTF_8));
-
-      String response = makeRequest("GET", "/students/export?" + query, null);
-      return response != null && response.contains("successfully");
+      String endpoint = "/students/export?format=" + URLEncoder.encode(format, StandardCharsets.UTF_8);
+      return downloadFile(endpoint, Paths.get(filename));
     } catch (Exception e) {
       LOGGER.log(Level.SEVERE, "Failed to export students", e);
       return false;
     }
   }
 
+  /**
+   * Uploads the local file as the request body; the server no longer needs to
+   * see the client's filesystem.
+   */
   public boolean importStudents(String format, String filename) {
     try {
-      String postData = String.format("format=%s&filename=%s",
-          URLEncoder.encode(format, StandardCharsets.UTF_8),
-          URLEncoder.encode(filename, StandardCharsets.UTF_8));
-
-      String response = makeRequest("POST", "/students/import", postData);
+      String endpoint = "/students/import?format=" + URLEncoder.encode(format, StandardCharsets.UTF_8);
+      String contentType = format.equalsIgnoreCase("csv") ? "text/csv" : "application/json";
+      String response = uploadFile(endpoint, Paths.get(filename), contentType);
       return response != null && response.contains("successfully");
     } catch (Exception e) {
       LOGGER.log(Level.SEVERE, "Failed to import students", e);
@@ -263,11 +295,17 @@ public class ApiService {
 
   // Helper methods
   private String makeRequest(String method, String endpoint, String postData) throws IOException {
-    URL url = new URL(BASE_URL + endpoint);
+    URL url = new URL(baseUrl + endpoint);
     HttpURLConnection connection = (HttpURLConnection) url.openConnection();
     connection.setRequestMethod(method);
     connection.setConnectTimeout(5000);
     connection.setReadTimeout(5000);
+    connection.setRequestProperty("Accept-Encoding", "gzip");
+
+    CachedResponse cached = method.equals("GET") ? responseCache.get(endpoint) : null;
+    if (cached != null) {
+      connection.setRequestProperty("If-None-Match", cached.etag);
+    }
 
     if (postData != null) {
       connection.setDoOutput(true);
@@ -282,11 +320,83 @@ public class ApiService {
     int responseCode = connection.getResponseCode();
     LOGGER.info("HTTP " + method + " " + endpoint + " - Response Code: " + responseCode);
 
+    if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+      return cached.body;
+    }
+
+    String responseText = readResponse(connection, responseCode);
+    String etag = connection.getHeaderField("ETag");
+    if (method.equals("GET") && responseCode == HttpURLConnection.HTTP_OK && etag != null) {
+      responseCache.put(endpoint, new CachedResponse(etag, responseText));
+    }
+    return responseText;
+  }
+
+  // Streams the file in chunks, so large imports are never held in memory
+  private String uploadFile(String endpoint, Path file, String contentType) throws IOException {
+    URL url = new URL(baseUrl + endpoint);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod("POST");
+    connection.setConnectTimeout(5000);
+    connection.setReadTimeout(TRANSFER_READ_TIMEOUT_MS);
+    connection.setRequestProperty("Accept-Encoding", "gzip");
+    connection.setRequestProperty("Content-Type", contentType + "; charset=utf-8");
+    connection.setDoOutput(true);
+    connection.setChunkedStreamingMode(64 * 1024);
+
+    try (OutputStream os = connection.getOutputStream()) {
+      Files.copy(file, os);
+    }
+
+    int responseCode = connection.getResponseCode();
+    LOGGER.info("HTTP POST " + endpoint + " - Response Code: " + responseCode);
+    return readResponse(connection, responseCode);
+  }
+
+  // Copies the body to a temporary file next to the target, moved into place once complete.
+  // A body cut short by the server fails the copy, so the target is left untouched.
+  private boolean downloadFile(String endpoint, Path target) throws IOException {
+    URL url = new URL(baseUrl + endpoint);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod("GET");
+    connection.setConnectTimeout(5000);
+    connection.setReadTimeout(TRANSFER_READ_TIMEOUT_MS);
+    connection.setRequestProperty("Accept-Encoding", "gzip");
+
+    int responseCode = connection.getResponseCode();
+    LOGGER.info("HTTP GET " + endpoint + " - Response Code: " + responseCode);
+    if (responseCode != HttpURLConnection.HTTP_OK) {
+      readResponse(connection, responseCode);
+      return false;
+    }
+
+    InputStream body = connection.getInputStream();
+    if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+      body = new GZIPInputStream(body, 64 * 1024);
+    }
+    Path absolute = target.toAbsolutePath();
+    Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".part");
+    try (InputStream in = body) {
+      Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return true;
+  }
+
+  private String readResponse(HttpURLConnection connection, int responseCode) throws IOException {
     // Read response from either input stream (success) or error stream (error)
-    try (BufferedReader reader = new BufferedReader(
-        new InputStreamReader(responseCode >= 200 && responseCode < 300
-            ? connection.getInputStream()
-            : connection.getErrorStream()))) {
+    InputStream body = responseCode >= 200 && responseCode < 300
+        ? connection.getInputStream()
+        : connection.getErrorStream();
+    if (body == null) {
+      return "";
+    }
+    if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+      body = new GZIPInputStream(body);
+    }
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
       StringBuilder response = new StringBuilder();
       String line;
       while ((line = reader.readLine()) != null) {
@@ -304,15 +414,11 @@ public class ApiService {
       return students;
     }
 
-    // Simple parsing - in production, use proper JSON parsing
-    String[] lines = response.split("Student\\{");
-    for (String line : lines) {
-      if (line.contains("id=") && line.contains("firstName=")) {
-        Student student = parseStudentFromString(line);
-        if (student != null) {
-          students.add(student);
-        }
-      }
+    // Responses are JSON arrays of students, read with the same parser as JSON imports
+    try {
+      fileManager.readJSON(new StringReader(response), students::add);
+    } catch (IOException e) {
+      LOGGER.warning("Failed to parse students: " + response);
     }
     return students;
   }
@@ -321,31 +427,15 @@ public class ApiService {
     if (response == null || response.isEmpty()) {
       return null;
     }
-    return parseStudentFromString(response);
-  }
-
-  private Student parseStudentFromString(String studentStr) {
-    try {
-      // Parse: Student{id=1, firstName='John', lastName='Doe', age=20, grade=15.50}
-      String[] parts = studentStr.split(",");
-      int id = Integer.parseInt(parts[0].split("=")[1]);
-      String firstName = parts[1].split("=")[1].replace("'", "");
-      String lastName = parts[2].split("=")[1].replace("'", "");
-      int age = Integer.parseInt(parts[3].split("=")[1]);
-      double grade = Double.parseDouble(parts[4].split("=")[1].replace("}", ""));
-
-      return new Student(id, firstName, lastName, age, grade);
-    } catch (Exception e) {
-      LOGGER.warning("Failed to parse student: " + studentStr);
-      return null;
-    }
+    List<Student> students = parseStudentsFromResponse(response);
+    return students.isEmpty() ? null : students.get(0);
   }
 
   private Map<String, Object> parseStatisticsFromResponse(String response) {
     try {
-      // Parse: {"totalStudents":25,"averageGrade":14.75}
-      String totalStr = response.split("totalStudents\":")[1].split(",")[0];
-      String avgStr = response.split("averageGrade\":")[1].split("}")[0];
+      // Parse: {"totalStudents":25,"averageGrade":14.75,"minGrade":...}
+      String totalStr = response.split("totalStudents\":")[1].split("[,}]")[0];
+      String avgStr = response.split("averageGrade\":")[1].split("[,}]")[0];
 
       int totalStudents = Integer.parseInt(totalStr);
       double averageGrade = Double.parseDouble(avgStr);
@@ -356,4 +446,14 @@ public class ApiService {
       return Map.of("totalStudents", 0, "averageGrade", 0.0);
     }
   }
-}
\ No newline at end of file
+
+  private static final class CachedResponse {
+    private final String etag;
+    private final String body;
+
+    private CachedResponse(String etag, String body) {
+      this.etag = etag;
+      this.body = body;
+    }
+  }
+}
@@ -486,14 +486,16 @@ public class DashboardView extends VBox {
     fileChooser.setTitle("Export Students");
     fileChooser.getExtensionFilters().addAll(
         new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
-        new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        new FileChooser.ExtensionFilter("JSON Files", "*.json"),
+        new FileChooser.ExtensionFilter("NDJSON Files", "*.ndjson"));
 
     String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
     fileChooser.setInitialFileName("students_" + timestamp);
 
     File file = fileChooser.showSaveDialog(null);
     if (file != null) {
-      String format = file.getName().toLowerCase().endsWith(".csv") ? "csv" : "json";
+      String name = file.getName().toLowerCase();
+      String format = name.endsWith(".csv") ? "csv" : name.endsWith(".ndjson") ? "ndjson" : "json";
 
       showStatus("Exporting data...");
 
@@ -0,0 +1,224 @@
+package com.laplateforme.tracker.logging;
+
+import com.laplateforme.tracker.utils.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous structured event log. Callers hand an event name and key/value
+ * pairs to a lock-free ring buffer and return at once; a single background
+ * thread formats them as JSON lines and writes them to
+ * {@code tracker.log.file} in batches. If the buffer is full the event is
+ * dropped and counted rather than making the caller wait.
+ *
+ * The level ({@code tracker.log.level}, default INFO) is checked before
+ * anything else; call sites building costly fields should still guard with
+ * {@link #isEnabled(Level)} to skip the varargs array and boxing.
+ */
+public final class StructuredLogger {
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final Logger LOGGER = Logger.getLogger(StructuredLogger.class.getName());
+    private static final Level THRESHOLD = parseLevel(System.getProperty("tracker.log.level", "INFO"));
+    private static final String FILE = System.getProperty("tracker.log.file", "tracker-events.log");
+    private static final int BUFFER_SIZE = Integer.getInteger("tracker.log.bufferSize", 8192);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private static final RingBuffer<Event> BUFFER = new RingBuffer<>(BUFFER_SIZE);
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final Thread WRITER;
+    private static volatile boolean stopping;
+
+    static {
+        WRITER = new Thread(StructuredLogger::drainLoop, "structured-log-writer");
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(StructuredLogger::shutdown, "structured-log-flush"));
+    }
+
+    private final String name;
+
+    private StructuredLogger(String name) {
+        this.name = name;
+    }
+
+    public static StructuredLogger get(Class<?> owner) {
+        return new StructuredLogger(owner.getSimpleName());
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(THRESHOLD) >= 0;
+    }
+
+    public void debug(String event, Object... fields) {
+        log(Level.DEBUG, event, fields);
+    }
+
+    public void info(String event, Object... fields) {
+        log(Level.INFO, event, fields);
+    }
+
+    public void warn(String event, Object... fields) {
+        log(Level.WARN, event, fields);
+    }
+
+    public void error(String event, Object... fields) {
+        log(Level.ERROR, event, fields);
+    }
+
+    /**
+     * @param fields alternating keys (strings) and values
+     */
+    public void log(Level level, String event, Object... fields) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Event entry = new Event(System.currentTimeMillis(), level, name, event,
+                Thread.currentThread().getName(), fields);
+        if (!BUFFER.offer(entry)) {
+            DROPPED.increment();
+        }
+    }
+
+    /** Events lost because the buffer was full. */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    private static void drainLoop() {
+        Writer out = openFile();
+        JsonWriter json = new JsonWriter(out);
+        long reportedDrops = 0;
+        while (true) {
+            Event event = BUFFER.poll();
+            if (event == null) {
+                long dropped = DROPPED.sum();
+                if (dropped != reportedDrops) {
+                    json = writeOrReset(out, json, new Event(System.currentTimeMillis(), Level.WARN,
+                            "StructuredLogger", "log.dropped", WRITER.getName(),
+                            new Object[] {"count", dropped - reportedDrops}));
+                    reportedDrops = dropped;
+                }
+                try {
+                    // Batch boundary: everything queued so far has been written
+                    out.flush();
+                } catch (IOException e) {
+                    LOGGER.warning("Unable to write structured log: " + e.getMessage());
+                }
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            json = writeOrReset(out, json, event);
+        }
+    }
+
+    /**
+     * Writes one event. A failure part way leaves the writer inside an
+     * unfinished object, so it is replaced and the partial line terminated;
+     * the thread must outlive any single bad event.
+     *
+     * @return the writer to use for the next event
+     */
+    static JsonWriter writeOrReset(Writer out, JsonWriter json, Event event) {
+        try {
+            write(json, event);
+            return json;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Unable to write structured log event " + event.name + ": " + e);
+            try {
+                out.write('\n');
+            } catch (IOException ignored) {
+                // The next event will report the broken output
+            }
+            return new JsonWriter(out);
+        }
+    }
+
+    private static void write(JsonWriter json, Event event) throws IOException {
+        json.beginObject()
+                .name("ts").value(Instant.ofEpochMilli(event.timestamp).toString())
+                .name("level").value(event.level.name())
+                .name("logger").value(event.logger)
+                .name("event").value(event.name)
+                .name("thread").value(event.thread);
+        Object[] fields = event.fields;
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            json.name(String.valueOf(fields[i]));
+            Object value = fields[i + 1];
+            if (value == null) {
+                json.nullValue();
+            } else if (value instanceof Double || value instanceof Float) {
+                json.value(((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                json.value(((Number) value).longValue());
+            } else if (value instanceof Boolean) {
+                json.value((Boolean) value);
+            } else if (value instanceof Throwable) {
+                Throwable error = (Throwable) value;
+                json.value(error.getClass().getName() + ": " + error.getMessage());
+            } else {
+                json.value(value.toString());
+            }
+        }
+        json.endObject().newline();
+    }
+
+    private static Writer openFile() {
+        try {
+            return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FILE, true),
+                    StandardCharsets.UTF_8), 64 * 1024);
+        } catch (IOException e) {
+            LOGGER.warning("Unable to open " + FILE + ", structured events go to stderr: " + e.getMessage());
+            return new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void shutdown() {
+        stopping = true;
+        LockSupport.unpark(WRITER);
+        try {
+            WRITER.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Level parseLevel(String level) {
+        try {
+            return Level.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    static final class Event {
+        private final long timestamp;
+        private final Level level;
+        private final String logger;
+        private final String name;
+        private final String thread;
+        private final Object[] fields;
+
+        Event(long timestamp, Level level, String logger, String name, String thread, Object[] fields) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.name = name;
+            this.thread = thread;
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.laplateforme.tracker.metrics;
+
+import com.laplateforme.tracker.database.DatabaseQueryEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Starts and stops one on-demand Flight Recorder recording at a time, with
+ * the application's own HTTP and database events enabled on top of the
+ * chosen JDK settings ({@code default} or {@code profile}). The recording is
+ * kept on disk and capped at {@code tracker.jfr.maxSizeMb} (256 by default),
+ * dropping the oldest data, so a forgotten recording cannot fill the disk.
+ */
+public final class FlightRecorderControl {
+    private static final long MAX_SIZE_BYTES = Long.getLong("tracker.jfr.maxSizeMb", 256L) * 1024 * 1024;
+
+    private Recording recording;
+
+    /**
+     * @param settings name of a JDK configuration, e.g. {@code default} or {@code profile}
+     * @return the new recording, or null if one is already running
+     * @throws IOException if there is no configuration by that name
+     */
+    public synchronized Recording start(String settings) throws IOException, ParseException {
+        if (recording != null) {
+            return null;
+        }
+        Recording started = new Recording(Configuration.getConfiguration(settings));
+        started.setName("tracker-" + settings);
+        started.setToDisk(true);
+        started.setMaxSize(MAX_SIZE_BYTES);
+        started.enable(HttpRequestEvent.class);
+        started.enable(DatabaseQueryEvent.class);
+        started.start();
+        recording = started;
+        return started;
+    }
+
+    /**
+     * Stops the running recording and writes it to a temporary {@code .jfr}
+     * file, which the caller must delete once sent. If writing fails the
+     * file is deleted here and the recording is discarded.
+     *
+     * @return the file, or null if no recording was running
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        Recording stopped = recording;
+        recording = null;
+        try {
+            stopped.stop();
+            Path file = Files.createTempFile("tracker-" + stopped.getId() + "-", ".jfr");
+            try {
+                stopped.dump(file);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return file;
+        } finally {
+            stopped.close();
+        }
+    }
+
+    /** @return when the running recording started, or null if none is running */
+    public synchronized Instant getStartTime() {
+        return recording == null ? null : recording.getStartTime();
+    }
+
+    public synchronized String getName() {
+        return recording == null ? null : recording.getName();
+    }
+}
@@ -0,0 +1,188 @@
+package com.laplateforme.tracker.metrics;
+
+import com.sun.net.httpserver.HttpHandler;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counts, errors, in-flight gauges and latency histograms for the HTTP
+ * handlers. Series are keyed by method, route template (as set by the router
+ * in {@link #ROUTE_ATTRIBUTE}, else the context path) and status, so that
+ * label cardinality stays bounded whatever ids appear in the URLs.
+ */
+public final class HttpMetrics {
+    /** Exchange attribute holding the matched route template, e.g. {@code /students/{id}}. */
+    public static final String ROUTE_ATTRIBUTE = "tracker.route";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final HttpMetrics INSTANCE = new HttpMetrics();
+
+    private final Map<SeriesKey, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<SeriesKey, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private HttpMetrics() {
+    }
+
+    public static HttpMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Wraps a handler so that every request it serves is timed and counted,
+     * and reported as an {@link HttpRequestEvent} while Flight Recorder is on.
+     * A handler that throws, or answers with a 5xx status, counts as an error.
+     */
+    public HttpHandler instrument(HttpHandler handler) {
+        return exchange -> {
+            String context = exchange.getHttpContext().getPath();
+            AtomicInteger gauge = inFlight.computeIfAbsent(context, k -> new AtomicInteger());
+            gauge.incrementAndGet();
+            HttpRequestEvent event = new HttpRequestEvent();
+            event.begin();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                handler.handle(exchange);
+                failed = false;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                event.end();
+                gauge.decrementAndGet();
+                Object route = exchange.getAttribute(ROUTE_ATTRIBUTE);
+                String routeName = route != null ? route.toString() : context;
+                int status = exchange.getResponseCode();
+                if (status < 0) {
+                    status = failed ? 500 : 0;
+                }
+                record(exchange.getRequestMethod(), routeName, status, elapsed, failed || status >= 500);
+                if (event.shouldCommit()) {
+                    event.method = exchange.getRequestMethod();
+                    event.route = routeName;
+                    event.path = exchange.getRequestURI().getPath();
+                    event.status = status;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    public void record(String method, String route, int status, long elapsedNanos, boolean error) {
+        SeriesKey key = new SeriesKey(method, route, status);
+        latencies.computeIfAbsent(key, k -> new LatencyHistogram()).record(elapsedNanos);
+        if (error) {
+            errors.computeIfAbsent(new SeriesKey(method, route, 0), k -> new LongAdder()).increment();
+        }
+    }
+
+    /** Appends all series in the Prometheus text exposition format. */
+    public void writePrometheus(StringBuilder out) {
+        Map<SeriesKey, LatencyHistogram> sorted = new TreeMap<>(latencies);
+
+        out.append("# HELP tracker_http_requests_total HTTP requests served, by route and status.\n");
+        out.append("# TYPE tracker_http_requests_total counter\n");
+        for (Map.Entry<SeriesKey, LatencyHistogram> entry : sorted.entrySet()) {
+            sample(out, "tracker_http_requests_total", entry.getKey().labels(), entry.getValue().getCount());
+        }
+
+        out.append("# HELP tracker_http_request_duration_seconds HTTP request latency, by route and status.\n");
+        out.append("# TYPE tracker_http_request_duration_seconds summary\n");
+        for (Map.Entry<SeriesKey, LatencyHistogram> entry : sorted.entrySet()) {
+            String labels = entry.getKey().labels();
+            LatencyHistogram histogram = entry.getValue();
+            for (double quantile : QUANTILES) {
+                sample(out, "tracker_http_request_duration_seconds",
+                        labels + ",quantile=\"" + quantile + "\"", seconds(histogram.getValueAtQuantile(quantile)));
+            }
+            sample(out, "tracker_http_request_duration_seconds_sum", labels, seconds(histogram.getSum()));
+            sample(out, "tracker_http_request_duration_seconds_count", labels, histogram.getCount());
+        }
+
+        out.append("# HELP tracker_http_request_duration_max_seconds Slowest HTTP request, by route and status.\n");
+        out.append("# TYPE tracker_http_request_duration_max_seconds gauge\n");
+        for (Map.Entry<SeriesKey, LatencyHistogram> entry : sorted.entrySet()) {
+            sample(out, "tracker_http_request_duration_max_seconds", entry.getKey().labels(),
+                    seconds(entry.getValue().getMax()));
+        }
+
+        out.append("# HELP tracker_http_errors_total HTTP requests that failed or answered 5xx, by route.\n");
+        out.append("# TYPE tracker_http_errors_total counter\n");
+        for (Map.Entry<SeriesKey, LongAdder> entry : new TreeMap<>(errors).entrySet()) {
+            SeriesKey key = entry.getKey();
+            sample(out, "tracker_http_errors_total", "method=\"" + escape(key.method) + "\",route=\""
+                    + escape(key.route) + "\"", entry.getValue().sum());
+        }
+
+        out.append("# HELP tracker_http_in_flight HTTP requests being handled, by context.\n");
+        out.append("# TYPE tracker_http_in_flight gauge\n");
+        for (Map.Entry<String, AtomicInteger> entry : new TreeMap<>(inFlight).entrySet()) {
+            sample(out, "tracker_http_in_flight", "context=\"" + escape(entry.getKey()) + "\"",
+                    entry.getValue().get());
+        }
+    }
+
+    public static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    public static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    private static final class SeriesKey implements Comparable<SeriesKey> {
+        private final String method;
+        private final String route;
+        private final int status;
+
+        private SeriesKey(String method, String route, int status) {
+            this.method = method;
+            this.route = route;
+            this.status = status;
+        }
+
+        private String labels() {
+            return "method=\"" + escape(method) + "\",route=\"" + escape(route) + "\",status=\"" + status + "\"";
+        }
+
+        @Override
+        public int compareTo(SeriesKey other) {
+            int result = route.compareTo(other.route);
+            if (result == 0) {
+                result = method.compareTo(other.method);
+            }
+            return result != 0 ? result : Integer.compare(status, other.status);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SeriesKey)) {
+                return false;
+            }
+            SeriesKey other = (SeriesKey) o;
+            return status == other.status && method.equals(other.method) && route.equals(other.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, route, status);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.laplateforme.tracker.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one HTTP request, committed by
+ * {@link HttpMetrics#instrument}. The route is the template matched by the
+ * router, so a recording groups requests the same way as {@code /metrics}.
+ */
+@Name("com.laplateforme.tracker.HttpRequest")
+@Label("HTTP Request")
+@Category({"Student Tracker", "HTTP"})
+@Description("A request served by TrackerHttpServer")
+@StackTrace(false)
+public final class HttpRequestEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("Route template, e.g. /students/{id}")
+    String route;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,49 @@
+package com.laplateforme.tracker.model;
+
+/**
+ * Running grade aggregates over all students, as kept in the student_stats table.
+ * Mean and variance are derived from count, sum and sum of squares.
+ */
+public class StudentStatistics {
+    private final long count;
+    private final double sum;
+    private final double sumOfSquares;
+    private final double minGrade;
+    private final double maxGrade;
+
+    public StudentStatistics(long count, double sum, double sumOfSquares, double minGrade, double maxGrade) {
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquares = sumOfSquares;
+        this.minGrade = minGrade;
+        this.maxGrade = maxGrade;
+    }
+
+    public long getCount() { return count; }
+
+    public double getSum() { return sum; }
+
+    public double getSumOfSquares() { return sumOfSquares; }
+
+    public double getMinGrade() { return minGrade; }
+
+    public double getMaxGrade() { return maxGrade; }
+
+    public double getAverage() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /** Population variance of the grades. */
+    public double getVariance() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double mean = getAverage();
+        // Guard against tiny negative values from floating-point cancellation
+        return Math.max(0.0, sumOfSquares / count - mean * mean);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
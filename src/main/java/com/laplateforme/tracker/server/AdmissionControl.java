@@ -0,0 +1,103 @@
+package com.laplateforme.tracker.server;
+
+import com.laplateforme.tracker.controller.HttpResponses;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Load shedding in front of the HTTP handlers. Each request is assigned to a
+ * bulkhead by path, so that imports, exports and batch mutations ({@code bulk}) cannot
+ * take the slots needed by logins ({@code auth}) or the rest of the API
+ * ({@code api}). When its bulkhead is full a request is answered at once with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header instead of
+ * waiting until the client gives up.
+ *
+ * Limits are read from {@code tracker.server.admission.<bulkhead>.maxConcurrent},
+ * {@code .maxQueued} and {@code .queueTimeoutMs}.
+ */
+public final class AdmissionControl {
+    private static final Logger LOGGER = Logger.getLogger(AdmissionControl.class.getName());
+
+    private final Bulkhead auth;
+    private final Bulkhead bulk;
+    private final Bulkhead api;
+    private final int retryAfterSeconds;
+
+    private AdmissionControl(Bulkhead auth, Bulkhead bulk, Bulkhead api, int retryAfterSeconds) {
+        this.auth = auth;
+        this.bulk = bulk;
+        this.api = api;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static AdmissionControl fromConfig(ServerConfig config) {
+        int maxConcurrent = config.getMaxConcurrentRequests();
+        Bulkhead auth = bulkhead(config, "auth", Math.max(1, maxConcurrent / 4), 32, 250);
+        Bulkhead bulk = bulkhead(config, "bulk", Math.max(1, maxConcurrent / 16), 4, 100);
+        Bulkhead api = bulkhead(config, "api", maxConcurrent, 64, 250);
+        AdmissionControl admission = new AdmissionControl(auth, bulk, api,
+                config.getInt("admission.retryAfterSeconds", 1));
+        for (Bulkhead bulkhead : admission.getBulkheads()) {
+            LOGGER.info("Bulkhead " + bulkhead.getName() + ": maxConcurrent=" + bulkhead.getMaxConcurrent()
+                    + ", maxQueued=" + bulkhead.getMaxQueued()
+                    + ", queueTimeoutMs=" + bulkhead.getQueueTimeoutMillis());
+        }
+        return admission;
+    }
+
+    private static Bulkhead bulkhead(ServerConfig config, String name, int maxConcurrent, int maxQueued,
+            int queueTimeoutMillis) {
+        String prefix = "admission." + name + ".";
+        return new Bulkhead(name,
+                config.getInt(prefix + "maxConcurrent", maxConcurrent),
+                config.getInt(prefix + "maxQueued", maxQueued),
+                config.getInt(prefix + "queueTimeoutMs", queueTimeoutMillis));
+    }
+
+    /**
+     * Wraps a handler so that it only runs once its bulkhead admits the request.
+     */
+    public HttpHandler guard(HttpHandler handler) {
+        return exchange -> {
+            if (RequestExecutors.isOverflow()) {
+                shed(exchange, "request executor full");
+                return;
+            }
+            Bulkhead bulkhead = bulkheadFor(exchange.getRequestURI().getPath());
+            if (!bulkhead.tryEnter()) {
+                shed(exchange, "bulkhead " + bulkhead.getName() + " full");
+                return;
+            }
+            try {
+                handler.handle(exchange);
+            } finally {
+                bulkhead.exit();
+            }
+        };
+    }
+
+    private void shed(HttpExchange exchange, String reason) throws IOException {
+        LOGGER.fine(() -> "Shedding " + exchange.getRequestMethod() + " "
+                + exchange.getRequestURI().getPath() + " (" + reason + ")");
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+        HttpResponses.send(exchange, 503, "Server busy, retry later");
+    }
+
+    Bulkhead bulkheadFor(String path) {
+        if (path.equals("/login") || path.equals("/register")) {
+            return auth;
+        }
+        if (path.startsWith("/students/import") || path.startsWith("/students/export")
+                || path.startsWith("/students/batch")) {
+            return bulk;
+        }
+        return api;
+    }
+
+    public List<Bulkhead> getBulkheads() {
+        return List.of(auth, bulk, api);
+    }
+}
@@ -0,0 +1,87 @@
+package com.laplateforme.tracker.server;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the requests of one class of traffic: at most {@code maxConcurrent} run
+ * at once, at most {@code maxQueued} more wait up to {@code queueTimeoutMillis}
+ * for a slot, and anything beyond that is turned away immediately.
+ */
+public final class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long queueTimeoutMillis) {
+        if (maxConcurrent < 1 || maxQueued < 0 || queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead limits for " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * @return true if the caller may proceed, and must then call {@link #exit()}
+     */
+    public boolean tryEnter() {
+        if (permits.tryAcquire()) {
+            admitted.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                admitted.increment();
+                return true;
+            }
+            timedOut.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public String getName() { return name; }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+
+    public int getMaxQueued() { return maxQueued; }
+
+    public long getQueueTimeoutMillis() { return queueTimeoutMillis; }
+
+    public int getActiveCount() { return maxConcurrent - permits.availablePermits(); }
+
+    public int getQueuedCount() { return queued.get(); }
+
+    public long getAdmittedCount() { return admitted.sum(); }
+
+    /** Requests turned away because the wait queue was full. */
+    public long getRejectedCount() { return rejected.sum(); }
+
+    /** Requests that queued but found no free slot in time. */
+    public long getTimedOutCount() { return timedOut.sum(); }
+}
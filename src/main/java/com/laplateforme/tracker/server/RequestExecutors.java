@@ -0,0 +1,138 @@
+package com.laplateforme.tracker.server;
+
+import com.laplateforme.tracker.utils.VirtualThreads;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Builds the executor the HttpServer dispatches requests to.
+ * In both pooled modes at most {@code maxConcurrent} requests run at once and up
+ * to {@code queueDepth} more wait. Past that a request is handed to a small
+ * overflow pool where {@link AdmissionControl} answers it {@code 503} straight
+ * away (the JDK server gives an executor no way to respond itself), so the
+ * dispatcher thread never runs request work and keeps accepting connections.
+ * If even the overflow pool is backed up the task is rejected and the server
+ * closes the connection.
+ */
+public final class RequestExecutors {
+    private static final Logger LOGGER = Logger.getLogger(RequestExecutors.class.getName());
+    private static final int OVERFLOW_THREADS = 2;
+    private static final ThreadLocal<Boolean> OVERFLOW = ThreadLocal.withInitial(() -> false);
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * @return true while the current thread handles a request the executor had
+     *         no room for, which must be shed rather than served
+     */
+    public static boolean isOverflow() {
+        return OVERFLOW.get();
+    }
+
+    /**
+     * @return the executor to install, or {@code null} for the HttpServer default
+     */
+    public static Executor create(ServerConfig config) {
+        int maxConcurrent = config.getMaxConcurrentRequests();
+        int queueDepth = config.getQueueDepth();
+        switch (config.getExecutorMode()) {
+            case DISPATCHER:
+                LOGGER.info("Handling requests on the dispatcher thread");
+                return null;
+            case VIRTUAL:
+                ExecutorService virtual = VirtualThreads.newVirtualThreadPerTaskExecutor();
+                if (virtual != null) {
+                    LOGGER.info("Handling requests on virtual threads (maxConcurrent=" + maxConcurrent
+                            + ", queueDepth=" + queueDepth + ")");
+                    return new LimitedExecutor(virtual, maxConcurrent, queueDepth, overflowPool(queueDepth));
+                }
+                LOGGER.warning("Virtual threads need Java 21+, falling back to a platform thread pool");
+                return platformPool(maxConcurrent, queueDepth);
+            case PLATFORM:
+            default:
+                return platformPool(maxConcurrent, queueDepth);
+        }
+    }
+
+    private static Executor platformPool(int maxConcurrent, int queueDepth) {
+        Executor overflow = overflowPool(queueDepth);
+        LOGGER.info("Handling requests on a platform thread pool (threads=" + maxConcurrent
+                + ", queueDepth=" + queueDepth + ")");
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueDepth)), r -> {
+                    Thread t = new Thread(r, "http-worker-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, (task, executor) -> overflow.execute(task));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Pool that runs overflow requests flagged for {@link #isOverflow()}. Shedding
+     * one is cheap, so two threads and a queue as deep as the main one suffice;
+     * when that is full {@code execute} throws RejectedExecutionException.
+     */
+    static Executor overflowPool(int queueDepth) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(OVERFLOW_THREADS, OVERFLOW_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueDepth)), r -> {
+                    Thread t = new Thread(r, "http-overflow-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return task -> pool.execute(() -> {
+            OVERFLOW.set(true);
+            try {
+                task.run();
+            } finally {
+                OVERFLOW.remove();
+            }
+        });
+    }
+
+    /**
+     * Thread-per-task executor with a cap on running tasks and on tasks waiting for one.
+     */
+    static final class LimitedExecutor implements Executor {
+        private final Executor delegate;
+        private final Executor overflow;
+        private final Semaphore running;
+        private final int maxAdmitted;
+        private final AtomicInteger admitted = new AtomicInteger();
+
+        LimitedExecutor(Executor delegate, int maxConcurrent, int queueDepth, Executor overflow) {
+            this.delegate = delegate;
+            this.overflow = overflow;
+            this.running = new Semaphore(maxConcurrent);
+            this.maxAdmitted = maxConcurrent + queueDepth;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (admitted.incrementAndGet() > maxAdmitted) {
+                admitted.decrementAndGet();
+                overflow.execute(task);
+                return;
+            }
+            delegate.execute(() -> {
+                running.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    running.release();
+                    admitted.decrementAndGet();
+                }
+            });
+        }
+    }
+}
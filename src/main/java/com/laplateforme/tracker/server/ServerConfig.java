@@ -0,0 +1,117 @@
+package com.laplateforme.tracker.server;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Server settings, merged from (lowest to highest priority) built-in defaults,
+ * a properties file, JVM system properties and command-line options.
+ *
+ * Command-line options are {@code --name=value}; short names map to
+ * {@code tracker.server.<name>} (e.g. {@code --executor=virtual}) and full
+ * {@code --tracker.*} keys are taken as is. The file is {@code tracker.properties}
+ * in the working directory unless {@code --config=path} is given. Every
+ * {@code tracker.*} entry is also published as a system property, so the same
+ * file can carry the {@code tracker.db.*} settings read by DatabaseConnection.
+ */
+public class ServerConfig {
+    private static final Logger LOGGER = Logger.getLogger(ServerConfig.class.getName());
+    private static final String PREFIX = "tracker.server.";
+    private static final String DEFAULT_CONFIG_FILE = "tracker.properties";
+
+    public enum ExecutorMode { DISPATCHER, PLATFORM, VIRTUAL }
+
+    private final Properties properties;
+
+    private ServerConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static ServerConfig fromArgs(String[] args) throws IOException {
+        Properties cli = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Unrecognized argument: " + arg + " (expected --name=value)");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            cli.setProperty(name.startsWith("tracker.") || name.equals("config") ? name : PREFIX + name, value);
+        }
+
+        Properties merged = new Properties();
+        Path file = Paths.get(cli.getProperty("config", System.getProperty(PREFIX + "config", DEFAULT_CONFIG_FILE)));
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = new FileInputStream(file.toFile())) {
+                merged.load(in);
+            }
+            LOGGER.info("Loaded configuration from " + file.toAbsolutePath());
+        } else if (cli.containsKey("config")) {
+            throw new IOException("Configuration file not found: " + file);
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("tracker.")) {
+                merged.setProperty(key, System.getProperty(key));
+            }
+        }
+        cli.remove("config");
+        merged.putAll(cli);
+
+        for (String key : merged.stringPropertyNames()) {
+            if (key.startsWith("tracker.")) {
+                System.setProperty(key, merged.getProperty(key));
+            }
+        }
+        return new ServerConfig(merged);
+    }
+
+    public int getPort() {
+        return getInt("port", 8080);
+    }
+
+    /**
+     * {@code dispatcher} keeps the JDK default of handling requests on the single
+     * HttpServer dispatcher thread; {@code platform} uses a bounded thread pool;
+     * {@code virtual} starts a virtual thread per request (Java 21+).
+     */
+    public ExecutorMode getExecutorMode() {
+        String mode = properties.getProperty(PREFIX + "executor", "virtual");
+        try {
+            return ExecutorMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid executor mode: " + mode + " (use dispatcher, platform or virtual)");
+        }
+    }
+
+    /** Requests handled at the same time; also the platform pool size. */
+    public int getMaxConcurrentRequests() {
+        return getInt("maxConcurrentRequests", 64);
+    }
+
+    /** Requests allowed to wait for a free slot before the dispatcher pushes back. */
+    public int getQueueDepth() {
+        return getInt("queueDepth", 256);
+    }
+
+    public String get(String name, String defaultValue) {
+        return properties.getProperty(PREFIX + name, defaultValue);
+    }
+
+    public int getInt(String name, int defaultValue) {
+        String value = properties.getProperty(PREFIX + name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + PREFIX + name + ": " + value);
+        }
+    }
+}
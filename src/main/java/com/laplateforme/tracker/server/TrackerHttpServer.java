@@ -1,8 +1,11 @@
 package com.laplateforme.tracker.server;
 
+import com.laplateforme.tracker.controller.AdminController;
+import com.laplateforme.tracker.controller.MetricsController;
 import com.laplateforme.tracker.controller.UserController;
 import com.laplateforme.tracker.controller.StudentController;
 import com.laplateforme.tracker.database.DatabaseConnection;
+import com.laplateforme.tracker.metrics.HttpMetrics;
 import com.sun.net.httpserver.HttpServer;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpExchange;
@@ -12,18 +15,26 @@ import java.net.InetSocketAddress;
 
 public class TrackerHttpServer {
     public static void main(String[] args) throws IOException {
+        // Loaded first: it may carry tracker.db.* settings read when DatabaseConnection initializes
+        ServerConfig config = ServerConfig.fromArgs(args);
+
         DatabaseConnection db = DatabaseConnection.getInstance();
         db.initDatabase();
 
-        HttpServer server = HttpServer.create(new InetSocketAddress(8080), 0);
+        AdmissionControl admission = AdmissionControl.fromConfig(config);
+        HttpMetrics metrics = HttpMetrics.getInstance();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(config.getPort()), 0);
         server.createContext("/", new RootHandler());
         server.createContext("/health", new HealthHandler());
-        server.createContext("/login", new UserController());
-        server.createContext("/register", new UserController());
-        server.createContext("/students", new StudentController());
-        server.setExecutor(null);
+        server.createContext("/admin", new AdminController(admission));
+        server.createContext("/metrics", new MetricsController(admission));
+        server.createContext("/login", metrics.instrument(admission.guard(new UserController())));
+        server.createContext("/register", metrics.instrument(admission.guard(new UserController())));
+        server.createContext("/students", metrics.instrument(admission.guard(new StudentController())));
+        server.setExecutor(RequestExecutors.create(config));
         server.start();
-        System.out.println("Serveur démarré sur le port 8080");
+        System.out.println("Serveur démarré sur le port " + config.getPort());
     }
 
     static class RootHandler implements HttpHandler {
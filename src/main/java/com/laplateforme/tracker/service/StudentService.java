@@ -3,11 +3,16 @@ package com.laplateforme.tracker.service;
 import com.laplateforme.tracker.dao.StudentDAO;
 import com.laplateforme.tracker.model.Student;
 import com.laplateforme.tracker.utils.FileManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class StudentService {
+    private static final Logger LOGGER = Logger.getLogger(StudentService.class.getName());
     private final StudentDAO studentDAO;
     private final FileManager fileManager;
 
@@ -60,50 +65,44 @@ public class StudentService {
     }
 
     public Map<String, Integer> getAgeStatistics() {
-        List<Student> students = getAllStudents();
         Map<String, Integer> ageStats = new HashMap<>();
-        
-        for (Student student : students) {
-            String ageRange = getAgeRange(student.getAge());
-            ageStats.put(ageRange, ageStats.getOrDefault(ageRange, 0) + 1);
+        try {
+            studentDAO.forEachStudent(student -> ageStats.merge(getAgeRange(student.getAge()), 1, Integer::sum));
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erreur lors du calcul des statistiques d'âge", e);
         }
-        
         return ageStats;
     }
 
     public boolean exportToCSV(String filename) {
-        List<Student> students = getAllStudents();
-        return fileManager.exportToCSV(students, filename);
+        return fileManager.exportToCSV(studentDAO::forEachStudent, filename);
     }
 
     public boolean importFromCSV(String filename) {
         List<Student> students = fileManager.importFromCSV(filename);
-        if (students != null) {
-            for (Student student : students) {
-                addStudent(student);
-            }
-            return true;
-        }
-        return false;
+        return students != null && importStudents(students);
     }
 
     public boolean exportToJSON(String filename) {
-        List<Student> students = getAllStudents();
-        return fileManager.exportToJSON(students, filename);
+        return fileManager.exportToJSON(studentDAO::forEachStudent, filename);
     }
 
     public boolean importFromJSON(String filename) {
         List<Student> students = fileManager.importFromJSON(filename);
-        if (students != null) {
-            for (Student student : students) {
-                addStudent(student);
+        return students != null && importStudents(students);
+    }
+
+    private boolean importStudents(List<Student> students) {
+        List<Student> valid = new ArrayList<>(students.size());
+        for (Student student : students) {
+            if (isValidStudent(student)) {
+                valid.add(student);
             }
-            return true;
         }
-        return false;
+        return studentDAO.addStudents(valid).isCommitted();
     }
 
-    private boolean isValidStudent(Student student) {
+    public static boolean isValidStudent(Student student) {
         return student != null &&
                student.getFirstName() != null && !student.getFirstName().trim().isEmpty() &&
                student.getLastName() != null && !student.getLastName().trim().isEmpty() &&
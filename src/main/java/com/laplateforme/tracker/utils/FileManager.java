@@ -1,46 +1,65 @@
 package com.laplateforme.tracker.utils;
 
+import com.laplateforme.tracker.dao.StudentSource;
 import com.laplateforme.tracker.model.Student;
 import java.io.*;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
 
 public class FileManager {
     private static final Logger LOGGER = Logger.getLogger(FileManager.class.getName());
+    private static final Map<String, Pattern> FIELD_PATTERNS = new ConcurrentHashMap<>();
 
     public boolean exportToCSV(List<Student> students, String filename) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            writer.println("ID,Prénom,Nom,Âge,Note");
-            for (Student student : students) {
-                writer.printf("%d,%s,%s,%d,%.2f%n",
-                    student.getId(), student.getFirstName(), student.getLastName(),
-                    student.getAge(), student.getGrade());
-            }
+        return exportToCSV(students::forEach, filename);
+    }
+
+    /**
+     * Writes students to CSV as the source produces them, e.g. straight from a
+     * database cursor, so the export never holds the whole table.
+     */
+    public boolean exportToCSV(StudentSource students, String filename) {
+        try (Writer writer = new BufferedWriter(new FileWriter(filename))) {
+            writeCSV(students, writer);
             return true;
-        } catch (IOException e) {
+        } catch (IOException | SQLException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de l'export CSV", e);
             return false;
         }
     }
 
+    /**
+     * Writes the CSV export format to {@code out}, row by row. Grades always use
+     * a decimal point so that the file reads back whatever the default locale.
+     * The writer is not closed.
+     */
+    public void writeCSV(StudentSource students, Writer out) throws IOException, SQLException {
+        out.write("ID,Prénom,Nom,Âge,Note\n");
+        StringBuilder row = new StringBuilder(64);
+        forEachRow(students, student -> {
+            row.setLength(0);
+            row.append(student.getId()).append(',')
+                .append(student.getFirstName()).append(',')
+                .append(student.getLastName()).append(',')
+                .append(student.getAge()).append(',')
+                .append(String.format(Locale.US, "%.2f", student.getGrade())).append('\n');
+            out.append(row);
+        });
+    }
+
     public List<Student> importFromCSV(String filename) {
         List<Student> students = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line = reader.readLine(); // Skip header
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length >= 5) {
-                    Student student = new Student(
-                        Integer.parseInt(parts[0]),
-                        parts[1], parts[2],
-                        Integer.parseInt(parts[3]),
-                        Double.parseDouble(parts[4])
-                    );
-                    students.add(student);
-                }
-            }
+        try {
+            streamFromCSV(filename, students::add);
         } catch (IOException | NumberFormatException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de l'import CSV", e);
             return null;
@@ -48,54 +67,105 @@ public class FileManager {
         return students;
     }
 
-    public boolean exportToJSON(List<Student> students, String filename) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            writer.println("[");
-            for (int i = 0; i < students.size(); i++) {
-                Student student = students.get(i);
-                writer.printf("  {\"id\":%d,\"firstName\":\"%s\",\"lastName\":\"%s\",\"age\":%d,\"grade\":%.2f}",
-                    student.getId(), student.getFirstName(), student.getLastName(),
-                    student.getAge(), student.getGrade());
-                if (i < students.size() - 1) writer.println(",");
-                else writer.println();
+    /**
+     * Reads a CSV export row by row and hands each student to {@code consumer},
+     * without keeping the rows in memory.
+     */
+    public void streamFromCSV(String filename, Consumer<Student> consumer) throws IOException {
+        try (Reader reader = new FileReader(filename)) {
+            readCSV(reader, consumer);
+        }
+    }
+
+    public void readCSV(Reader source, Consumer<Student> consumer) throws IOException {
+        readCSV(source, consumer, (line, lineNumber) -> {
+            throw new NumberFormatException("Invalid CSV row at line " + lineNumber + ": " + line);
+        });
+    }
+
+    /**
+     * @param onMalformed receives rows with fewer than five fields or a non-numeric
+     *                    id, age or grade, with their line number (the header is line 1);
+     *                    they are then skipped. Blank lines are ignored.
+     */
+    public void readCSV(Reader source, Consumer<Student> consumer, ObjIntConsumer<String> onMalformed)
+            throws IOException {
+        BufferedReader reader = source instanceof BufferedReader
+                ? (BufferedReader) source : new BufferedReader(source);
+        String line = reader.readLine(); // Skip header
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
             }
-            writer.println("]");
+            String[] parts = line.split(",");
+            if (parts.length < 5) {
+                onMalformed.accept(line, lineNumber);
+                continue;
+            }
+            Student student;
+            try {
+                student = new Student(
+                    Integer.parseInt(parts[0]),
+                    parts[1], parts[2],
+                    Integer.parseInt(parts[3]),
+                    Double.parseDouble(parts[4])
+                );
+            } catch (NumberFormatException e) {
+                onMalformed.accept(line, lineNumber);
+                continue;
+            }
+            consumer.accept(student);
+        }
+    }
+
+    public boolean exportToJSON(List<Student> students, String filename) {
+        return exportToJSON(students::forEach, filename);
+    }
+
+    public boolean exportToJSON(StudentSource students, String filename) {
+        try (Writer writer = new BufferedWriter(new FileWriter(filename))) {
+            writeJSON(students, writer);
             return true;
-        } catch (IOException e) {
+        } catch (IOException | SQLException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de l'export JSON", e);
             return false;
         }
     }
 
+    /** Writes students as a JSON array, the format read back by {@link #readJSON}. The writer is not closed. */
+    public void writeJSON(StudentSource students, Writer out) throws IOException, SQLException {
+        JsonWriter json = new JsonWriter(out);
+        json.beginArray();
+        forEachRow(students, json::student);
+        json.endArray();
+    }
+
+    /** Writes students as newline-delimited JSON, one object per line. The writer is not closed. */
+    public void writeNDJSON(StudentSource students, Writer out) throws IOException, SQLException {
+        JsonWriter json = new JsonWriter(out);
+        forEachRow(students, student -> json.student(student).newline());
+    }
+
+    private static void forEachRow(StudentSource students, RowWriter action) throws IOException, SQLException {
+        try {
+            students.forEach(student -> {
+                try {
+                    action.write(student);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     public List<Student> importFromJSON(String filename) {
         List<Student> students = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            StringBuilder content = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line);
-            }
-            
-            String jsonContent = content.toString().trim();
-            
-            // Basic JSON parsing for array format: [{"id":1,"firstName":"John",...}]
-            if (jsonContent.startsWith("[") && jsonContent.endsWith("]")) {
-                String arrayContent = jsonContent.substring(1, jsonContent.length() - 1);
-                String[] objects = arrayContent.split("\\},\\s*\\{");
-                
-                for (int i = 0; i < objects.length; i++) {
-                    String obj = objects[i];
-                    if (i == 0) obj = obj.substring(1); // Remove first {
-                    if (i == objects.length - 1) obj = obj.substring(0, obj.length() - 1); // Remove last }
-                    else obj = obj + "}"; // Add back }
-                    
-                    Student student = parseStudentFromJSON(obj);
-                    if (student != null) {
-                        students.add(student);
-                    }
-                }
-            }
-            
+        try {
+            streamFromJSON(filename, students::add);
             LOGGER.info("Import JSON: " + students.size() + " étudiants importés");
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Erreur lors de l'import JSON", e);
@@ -103,8 +173,70 @@ public class FileManager {
         }
         return students;
     }
-    
-    private Student parseStudentFromJSON(String jsonObject) {
+
+    public void streamFromJSON(String filename, Consumer<Student> consumer) throws IOException {
+        try (Reader reader = new FileReader(filename)) {
+            readJSON(reader, consumer);
+        }
+    }
+
+    /**
+     * Incremental reader for a JSON array of flat student objects: [{"id":1,"firstName":"John",...}].
+     * Only the object currently being read is buffered, so memory stays flat
+     * whatever the size of the array. Objects that are not complete students are skipped.
+     */
+    public void readJSON(Reader source, Consumer<Student> consumer) throws IOException {
+        readJSONObjects(source, object -> {
+            Student student = parseStudent(object, true);
+            if (student != null) {
+                consumer.accept(student);
+            }
+        });
+    }
+
+    /**
+     * Hands each top-level object of a JSON array to {@code consumer} as text, in order.
+     */
+    public void readJSONObjects(Reader source, Consumer<String> consumer) throws IOException {
+        Reader reader = source instanceof BufferedReader ? source : new BufferedReader(source);
+        StringBuilder object = new StringBuilder(128);
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (depth > 0) {
+                object.append(ch);
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (ch == '\\') {
+                    escaped = true;
+                } else if (ch == '"') {
+                    inString = false;
+                }
+            } else if (ch == '"') {
+                inString = true;
+            } else if (ch == '{') {
+                if (depth++ == 0) {
+                    object.setLength(0);
+                    object.append(ch);
+                }
+            } else if (ch == '}' && depth > 0 && --depth == 0) {
+                consumer.accept(object.toString());
+            }
+        }
+    }
+
+    /**
+     * Parses one flat student object.
+     *
+     * @param requireId whether an object without "id" is rejected; new students have none
+     * @return the student, or {@code null} if a field is missing or not a number where one is expected
+     */
+    public Student parseStudent(String jsonObject, boolean requireId) {
         try {
             // Extract values using regex for simple JSON parsing
             String idMatch = extractValue(jsonObject, "id");
@@ -113,11 +245,11 @@ public class FileManager {
             String ageMatch = extractValue(jsonObject, "age");
             String gradeMatch = extractValue(jsonObject, "grade");
             
-            if (idMatch != null && firstNameMatch != null && lastNameMatch != null && 
+            if ((idMatch != null || !requireId) && firstNameMatch != null && lastNameMatch != null && 
                 ageMatch != null && gradeMatch != null) {
                 
                 return new Student(
-                    Integer.parseInt(idMatch),
+                    idMatch != null ? Integer.parseInt(idMatch) : 0,
                     firstNameMatch,
                     lastNameMatch,
                     Integer.parseInt(ageMatch),
@@ -131,12 +263,18 @@ public class FileManager {
     }
     
     private String extractValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\"?([^\",\\}]+)\"?";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
+        // Compiled once per key instead of for every field of every row
+        Pattern p = FIELD_PATTERNS.computeIfAbsent(key,
+                k -> Pattern.compile("\"" + Pattern.quote(k) + "\"\\s*:\\s*\"?([^\",\\}]+)\"?"));
         java.util.regex.Matcher m = p.matcher(json);
         if (m.find()) {
             return m.group(1);
         }
         return null;
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Student student) throws IOException;
+    }
+}
@@ -0,0 +1,46 @@
+package com.laplateforme.tracker.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Access to virtual threads without requiring a Java 21 compiler: the project
+ * targets Java 17, so the JDK 21 factory is looked up reflectively and callers
+ * fall back to platform threads when it is missing.
+ */
+public final class VirtualThreads {
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreads.class.getName());
+    private static final Method FACTORY = findFactory();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    /**
+     * @return a new thread-per-task executor on virtual threads, or {@code null} on JDKs without them
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (FACTORY == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.WARNING, "Unable to create virtual thread executor", e);
+            return null;
+        }
+    }
+
+    private static Method findFactory() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
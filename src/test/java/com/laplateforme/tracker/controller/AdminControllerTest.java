@@ -0,0 +1,70 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdminControllerTest {
+    private HttpServer server;
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void recordingControlIsRefusedByDefault() throws IOException {
+        start(false);
+        assertEquals(403, open("POST", "/admin/jfr/start").getResponseCode());
+        assertEquals(403, open("POST", "/admin/jfr/stop").getResponseCode());
+
+        HttpURLConnection status = open("GET", "/admin/jfr");
+        assertEquals(200, status.getResponseCode());
+        assertEquals("{\"controlEnabled\":false,\"recording\":false}", read(status));
+    }
+
+    @Test
+    public void recordingRoundTripWhenEnabled() throws IOException {
+        start(true);
+        assertEquals(409, open("POST", "/admin/jfr/stop").getResponseCode());
+
+        HttpURLConnection started = open("POST", "/admin/jfr/start");
+        assertEquals(200, started.getResponseCode());
+        assertTrue(read(started).startsWith("{\"controlEnabled\":true,\"recording\":true"));
+        assertEquals(409, open("POST", "/admin/jfr/start").getResponseCode());
+
+        HttpURLConnection stopped = open("POST", "/admin/jfr/stop");
+        assertEquals(200, stopped.getResponseCode());
+        assertEquals("application/octet-stream", stopped.getContentType());
+        try (InputStream body = stopped.getInputStream()) {
+            assertTrue(body.readAllBytes().length > 0);
+        }
+    }
+
+    private void start(boolean recordingControlEnabled) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/admin", new AdminController(null, recordingControlEnabled));
+        server.start();
+    }
+
+    private HttpURLConnection open(String method, String path) throws IOException {
+        URL url = new URL("http://localhost:" + server.getAddress().getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        return connection;
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        try (InputStream body = connection.getInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
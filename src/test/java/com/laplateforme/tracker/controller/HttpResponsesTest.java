@@ -0,0 +1,87 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpResponsesTest {
+    private static final String ETAG = "W/\"7\"";
+
+    private HttpServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            if (HttpResponses.notModified(exchange, ETAG)) {
+                return;
+            }
+            String status = exchange.getRequestURI().getPath().substring(1);
+            // Large enough to be compressed when the client accepts gzip
+            HttpResponses.send(exchange, Integer.parseInt(status), "body".repeat(HttpResponses.GZIP_MIN_SIZE));
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void okCarriesTheEtag() throws IOException {
+        HttpURLConnection connection = open("/200", null);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(ETAG, connection.getHeaderField("ETag"));
+    }
+
+    @Test
+    public void notModifiedCarriesTheEtag() throws IOException {
+        HttpURLConnection connection = open("/200", "\"7\"");
+        assertEquals(304, connection.getResponseCode());
+        assertEquals(ETAG, connection.getHeaderField("ETag"));
+    }
+
+    @Test
+    public void errorsDropTheEtag() throws IOException {
+        for (int status : new int[] {400, 404, 500, 503}) {
+            HttpURLConnection connection = open("/" + status, null);
+            assertEquals(status, connection.getResponseCode());
+            assertNull(connection.getHeaderField("ETag"), "status " + status);
+        }
+    }
+
+    @Test
+    public void gzipRefusedOnlyWithZeroQuality() throws IOException {
+        assertEquals("gzip", encodingFor("gzip"));
+        assertEquals("gzip", encodingFor("deflate, gzip;q=0.5"));
+        assertEquals("gzip", encodingFor("gzip; q=0.01"));
+        assertNull(encodingFor("gzip;q=0"));
+        assertNull(encodingFor("gzip; q=0.000"));
+        assertNull(encodingFor("br, gzip;q=0."));
+        assertNull(encodingFor("deflate"));
+    }
+
+    private String encodingFor(String acceptEncoding) throws IOException {
+        HttpURLConnection connection = open("/200", null);
+        connection.setRequestProperty("Accept-Encoding", acceptEncoding);
+        assertEquals(200, connection.getResponseCode());
+        return connection.getContentEncoding();
+    }
+
+    private HttpURLConnection open(String path, String ifNoneMatch) throws IOException {
+        URL url = new URL("http://localhost:" + server.getAddress().getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        if (ifNoneMatch != null) {
+            connection.setRequestProperty("If-None-Match", ifNoneMatch);
+        }
+        return connection;
+    }
+}
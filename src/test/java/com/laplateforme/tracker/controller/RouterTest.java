@@ -0,0 +1,127 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouterTest {
+    private HttpServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        // Templated route registered first, precedence must not depend on order
+        Router router = new Router()
+                .add("GET", "/students/{id}", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, "student " + request.pathParam("id")))
+                .add("DELETE", "/students/{id}", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, "deleted " + request.pathParam("id")))
+                .add("GET", "/students/statistics", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, "statistics"))
+                .add("GET", "/students/{id}/grades/{term}", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, request.pathParam("id") + ":" + request.pathParam("term")))
+                .add("POST", "/students", (exchange, request) ->
+                        HttpResponses.send(exchange, 201, "created"))
+                .add("POST", "/students/batch", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, "batch created"))
+                .add("PUT", "/students/batch", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, "batch updated"))
+                .add("DELETE", "/students/batch", (exchange, request) ->
+                        HttpResponses.send(exchange, 200, "batch deleted"));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", router::dispatch);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void literalRouteWinsOverTemplate() throws IOException {
+        assertResponse("GET", "/students/statistics", 200, "statistics");
+    }
+
+    @Test
+    public void literalRoutesServeEachOfTheirMethods() throws IOException {
+        assertResponse("PUT", "/students/batch", 200, "batch updated");
+        assertResponse("DELETE", "/students/batch", 200, "batch deleted");
+    }
+
+    @Test
+    public void extractsPathParameters() throws IOException {
+        assertResponse("GET", "/students/42", 200, "student 42");
+        assertResponse("DELETE", "/students/7", 200, "deleted 7");
+        assertResponse("GET", "/students/42/grades/2024-S1", 200, "42:2024-S1");
+    }
+
+    @Test
+    public void toleratesExtraSlashes() throws IOException {
+        assertResponse("GET", "/students/42/", 200, "student 42");
+        assertResponse("GET", "/students//42", 200, "student 42");
+    }
+
+    @Test
+    public void unknownPathIs404() throws IOException {
+        assertResponse("GET", "/teachers/1", 404, "Not Found");
+        assertResponse("GET", "/students/42/grades", 404, "Not Found");
+        assertResponse("GET", "/", 404, "Not Found");
+    }
+
+    @Test
+    public void knownPathWithWrongMethodIs405WithAllow() throws IOException {
+        HttpURLConnection connection = open("PUT", "/students/42");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("GET, DELETE", connection.getHeaderField("Allow"));
+
+        // The templates match the path too, but must not take over a literal one
+        connection = open("PUT", "/students/statistics");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("GET", connection.getHeaderField("Allow"));
+
+        connection = open("DELETE", "/students/statistics");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("GET", connection.getHeaderField("Allow"));
+
+        connection = open("GET", "/students/batch");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("POST, PUT, DELETE", connection.getHeaderField("Allow"));
+
+        connection = open("GET", "/students");
+        assertEquals(405, connection.getResponseCode());
+        assertEquals("POST", connection.getHeaderField("Allow"));
+    }
+
+    @Test
+    public void splitsWithoutEmptySegments() {
+        assertArrayEquals(new String[0], Router.split("/"));
+        assertArrayEquals(new String[0], Router.split(""));
+        assertArrayEquals(new String[] {"students", "42"}, Router.split("/students/42"));
+        assertArrayEquals(new String[] {"students", "42"}, Router.split("///students//42///"));
+    }
+
+    private void assertResponse(String method, String path, int status, String body) throws IOException {
+        HttpURLConnection connection = open(method, path);
+        assertEquals(status, connection.getResponseCode(), method + " " + path);
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (InputStream stream = in) {
+            assertEquals(body, new String(stream.readAllBytes(), StandardCharsets.UTF_8), method + " " + path);
+        }
+    }
+
+    private HttpURLConnection open(String method, String path) throws IOException {
+        URL url = new URL("http://localhost:" + server.getAddress().getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        return connection;
+    }
+}
@@ -0,0 +1,103 @@
+package com.laplateforme.tracker.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingResponseTest {
+    private static final int ROWS = 20_000;
+
+    private HttpServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/complete", exchange -> StreamingResponse.send(exchange, "application/json",
+                out -> writeRows(out, ROWS), "Failed to read students"));
+        server.createContext("/cursor-fails-mid-stream", exchange -> StreamingResponse.send(exchange,
+                "application/json", out -> {
+                    writeRows(out, ROWS / 2);
+                    throw new SQLException("cursor closed");
+                }, "Failed to read students"));
+        server.createContext("/cursor-fails-at-once", exchange -> {
+            exchange.getResponseHeaders().set("ETag", "W/\"1\"");
+            StreamingResponse.send(exchange, "application/json", out -> {
+                throw new SQLException("connection refused");
+            }, "Failed to read students");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void completeBodyIsReadToTheEnd() throws IOException {
+        HttpURLConnection connection = open("/complete", false);
+        assertEquals(200, connection.getResponseCode());
+        String body = readAll(connection.getInputStream());
+        assertTrue(body.startsWith("[{\"id\":0") && body.endsWith("}]"));
+    }
+
+    @Test
+    public void failureMidStreamEndsTheBodyEarly() throws IOException {
+        HttpURLConnection connection = open("/cursor-fails-mid-stream", false);
+        assertEquals(200, connection.getResponseCode());
+        assertThrows(IOException.class, () -> readAll(connection.getInputStream()));
+    }
+
+    @Test
+    public void failureMidGzipStreamEndsTheBodyEarly() throws IOException {
+        HttpURLConnection connection = open("/cursor-fails-mid-stream", true);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("gzip", connection.getContentEncoding());
+        assertThrows(IOException.class, () -> readAll(connection.getInputStream()));
+    }
+
+    @Test
+    public void failureBeforeFirstByteAnswers500() throws IOException {
+        HttpURLConnection connection = open("/cursor-fails-at-once", false);
+        assertEquals(500, connection.getResponseCode());
+        assertNull(connection.getHeaderField("ETag"));
+        assertEquals("Failed to read students", readAll(connection.getErrorStream()));
+    }
+
+    private HttpURLConnection open(String path, boolean gzip) throws IOException {
+        URL url = new URL("http://localhost:" + server.getAddress().getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setReadTimeout(5000);
+        if (gzip) {
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+        }
+        return connection;
+    }
+
+    private static void writeRows(java.io.Writer out, int count) throws IOException {
+        out.write('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write("{\"id\":" + i + ",\"firstName\":\"John\",\"lastName\":\"Doe\",\"age\":20,\"grade\":15.5}");
+        }
+        out.write(']');
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
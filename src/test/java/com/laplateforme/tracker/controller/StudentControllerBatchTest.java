@@ -0,0 +1,73 @@
+package com.laplateforme.tracker.controller;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentControllerBatchTest {
+
+    @Test
+    public void readsIdsInOrder() throws IOException {
+        StudentController.BatchItems<Integer> items = read("[1, 2,3]");
+        assertEquals(List.of(1, 2, 3), items.valid);
+        assertEquals(3, items.count);
+        assertTrue(items.errors.isEmpty());
+    }
+
+    @Test
+    public void toleratesPrettyPrintedArrays() throws IOException {
+        StudentController.BatchItems<Integer> items = read("\n  [\n" + " ".repeat(64) + "7,\n\t-8\n]\n");
+        assertEquals(List.of(7, -8), items.valid);
+    }
+
+    @Test
+    public void emptyArrayIsAnEmptyBatch() throws IOException {
+        assertEquals(0, read("[ ]").count);
+    }
+
+    @Test
+    public void rejectsInvalidItemsByPosition() throws IOException {
+        StudentController.BatchItems<Integer> items = read("[1,x,,1 2,99999999999999999999,4]");
+        assertEquals(List.of(1, 4), items.valid);
+        assertEquals(Map.of(1, "Invalid student ID", 2, "Invalid student ID", 3, "Invalid student ID",
+                4, "Invalid student ID"), items.errors);
+        assertEquals(6, items.count);
+    }
+
+    @Test
+    public void rejectsBodiesThatAreNotAnArray() throws IOException {
+        assertNull(read(""));
+        assertNull(read("{\"ids\":[1]}"));
+        assertNull(read("[1,2"));
+        assertNull(read("[1,2] [3]"));
+    }
+
+    @Test
+    public void stopsReadingPastTheBatchLimit() {
+        int limit = StudentController.MAX_BATCH_SIZE;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= limit; i++) {
+            body.append(i).append(',');
+        }
+        // Never terminated: the parser must give up before reaching the end
+        assertThrows(StudentController.BatchTooLargeException.class, () -> read(body.toString()));
+    }
+
+    @Test
+    public void acceptsExactlyTheBatchLimit() throws IOException {
+        int limit = StudentController.MAX_BATCH_SIZE;
+        StringBuilder body = new StringBuilder("[0");
+        for (int i = 1; i < limit; i++) {
+            body.append(',').append(i);
+        }
+        assertEquals(limit, read(body.append(']').toString()).valid.size());
+    }
+
+    private static StudentController.BatchItems<Integer> read(String body) throws IOException {
+        return StudentController.readIdItems(new StringReader(body));
+    }
+}
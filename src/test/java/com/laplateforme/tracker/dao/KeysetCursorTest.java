@@ -0,0 +1,113 @@
+package com.laplateforme.tracker.dao;
+
+import com.laplateforme.tracker.model.Student;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+    private static final Student LAST = new Student(42, "Anne|Marie", "Léger", 21, 15.5);
+
+    @Test
+    public void roundTripsEverySortField() {
+        assertRoundTrip("id", false, 42);
+        assertRoundTrip("first_name", true, "Anne|Marie");
+        assertRoundTrip("last_name", false, "Léger");
+        assertRoundTrip("age", true, 21);
+        assertRoundTrip("grade", false, new BigDecimal("15.5"));
+    }
+
+    @Test
+    public void encodesAsUrlSafeToken() {
+        String token = KeysetCursor.after("first_name", true, LAST).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    public void rejectsMalformedTokens() {
+        assertRejected("not base64 !");
+        assertRejected(raw("v1|id|asc|42"));
+        assertRejected(raw("v2|id|asc|42|42"));
+        assertRejected(raw("v1|password|asc|42|x"));
+        assertRejected(raw("v1|id|sideways|42|42"));
+        assertRejected(raw("v1|id|asc|forty-two|42"));
+    }
+
+    @Test
+    public void rejectsTamperedSortValue() {
+        // A name where a grade is expected cannot be bound as a number
+        assertRejected(raw("v1|grade|asc|42|Anne"));
+        assertRejected(raw("v1|age|desc|42|21 OR 1=1"));
+    }
+
+    @Test
+    public void descendingPageSeeksBelowLastKeyWithIdTieBreak() {
+        KeysetCursor cursor = KeysetCursor.after("grade", true, LAST);
+        List<Object> params = new ArrayList<>();
+        String sql = StudentDAO.selectSql(new StudentQuery().orderBy("grade", true).after(cursor, 20), 21, params);
+
+        assertEquals("SELECT * FROM student WHERE (grade, id) < (?, ?) ORDER BY grade DESC, id DESC LIMIT ?", sql);
+        assertEquals(List.of(new BigDecimal("15.5"), 42, 21), params);
+    }
+
+    @Test
+    public void ascendingIdPageSeeksOnIdAlone() {
+        KeysetCursor cursor = KeysetCursor.after("id", false, LAST);
+        List<Object> params = new ArrayList<>();
+        String sql = StudentDAO.selectSql(new StudentQuery().after(cursor, 10), 11, params);
+
+        assertEquals("SELECT * FROM student WHERE id > ? ORDER BY id ASC LIMIT ?", sql);
+        assertEquals(List.of(42, 11), params);
+    }
+
+    @Test
+    public void firstPageOrdersByFieldThenId() {
+        List<Object> params = new ArrayList<>();
+        String sql = StudentDAO.selectSql(new StudentQuery().orderBy("last_name", false).after(null, 5), 6, params);
+
+        assertEquals("SELECT * FROM student ORDER BY last_name ASC, id ASC LIMIT ?", sql);
+        assertEquals(List.of(6), params);
+    }
+
+    @Test
+    public void nameSearchIsCaseInsensitiveAndCombinesWithSeek() {
+        KeysetCursor cursor = KeysetCursor.after("age", false, LAST);
+        List<Object> params = new ArrayList<>();
+        String sql = StudentDAO.selectSql(new StudentQuery().where("last_name", "léger")
+                .orderBy("age", false).after(cursor, 10), 11, params);
+
+        assertEquals("SELECT * FROM student WHERE lower(last_name) = lower(?) AND (age, id) > (?, ?)"
+                + " ORDER BY age ASC, id ASC LIMIT ?", sql);
+        assertEquals(List.of("léger", 21, 42, 11), params);
+    }
+
+    @Test
+    public void numericSearchStaysExact() {
+        List<Object> params = new ArrayList<>();
+        String sql = StudentDAO.selectSql(new StudentQuery().where("age", 20), 0, params);
+
+        assertEquals("SELECT * FROM student WHERE age = ? ORDER BY id ASC", sql);
+        assertEquals(List.of(20), params);
+    }
+
+    private static void assertRoundTrip(String field, boolean descending, Object expectedValue) {
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.after(field, descending, LAST).encode());
+        assertEquals(field, decoded.getField());
+        assertEquals(descending, decoded.isDescending());
+        assertEquals(42, decoded.getLastId());
+        assertEquals(expectedValue, decoded.getLastValue());
+    }
+
+    private static void assertRejected(String token) {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token), token);
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package com.laplateforme.tracker.dao;
+
+import com.laplateforme.tracker.model.Student;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentCacheTest {
+
+    @Test
+    public void countsHitsAndMissesAndReturnsCopies() {
+        StudentCache cache = new StudentCache(10, 60_000);
+        assertNull(cache.get(1));
+        cache.putIfUnchanged(student(1), cache.stamp());
+
+        Student first = cache.get(1);
+        first.setFirstName("Changed");
+        assertEquals("First1", cache.get(1).getFirstName());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyReadWhenFull() throws InterruptedException {
+        StudentCache cache = new StudentCache(3, 60_000);
+        for (int id = 1; id <= 3; id++) {
+            cache.putIfUnchanged(student(id), cache.stamp());
+            Thread.sleep(1);
+        }
+        cache.get(1);
+        cache.putIfUnchanged(student(4), cache.stamp());
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(1));
+        assertNotNull(cache.get(4));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void expiresEntriesAfterTtl() throws InterruptedException {
+        StudentCache cache = new StudentCache(10, 5);
+        cache.putIfUnchanged(student(1), cache.stamp());
+        Thread.sleep(20);
+
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void dropsLoadThatRacedWithAnInvalidation() {
+        StudentCache cache = new StudentCache(10, 60_000);
+        long stamp = cache.stamp();
+        cache.invalidate(1);
+        cache.putIfUnchanged(student(1), stamp);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    public void staysWithinBoundsUnderConcurrentUse() throws InterruptedException {
+        StudentCache cache = new StudentCache(100, 60_000);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20_000; i++) {
+                        int id = (i * 31 + seed) % 500;
+                        if (cache.get(id) == null) {
+                            cache.putIfUnchanged(student(id), cache.stamp());
+                        }
+                        if (i % 1000 == 0) {
+                            cache.invalidate(id);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(cache.size() <= 100, "size " + cache.size());
+        assertEquals(8 * 20_000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    private static Student student(int id) {
+        return new Student(id, "First" + id, "Last" + id, 20, 12.5);
+    }
+}
@@ -0,0 +1,156 @@
+package com.laplateforme.tracker.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseConnectionTest {
+    private static final String URL = "jdbc:tracker-test:prepare-fails";
+    private static final int POOL_SIZE = 2;
+
+    private ConnectionPool pool;
+    private DatabaseConnection db;
+
+    @BeforeAll
+    public static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(new PrepareFailingDriver());
+    }
+
+    @BeforeEach
+    public void createPool() {
+        // A short borrow timeout turns a leaked lease into a quick failure
+        pool = new ConnectionPool(URL, "user", "password", 0, POOL_SIZE, 200, 60_000, 60_000, 1);
+        db = new DatabaseConnection(pool);
+    }
+
+    @AfterEach
+    public void closePool() {
+        pool.close();
+    }
+
+    @Test
+    public void failedPrepareInQueryReleasesTheConnection() throws SQLException {
+        for (int i = 0; i < POOL_SIZE * 3; i++) {
+            SQLException e = assertThrows(SQLException.class, () -> db.query("SELECT 1", rs -> null));
+            assertEquals("prepare failed", e.getMessage());
+            assertEquals(0, pool.getActiveCount());
+        }
+        assertBorrowable();
+    }
+
+    @Test
+    public void failedPrepareInUpdateReleasesTheConnection() throws SQLException {
+        for (int i = 0; i < POOL_SIZE * 3; i++) {
+            assertThrows(SQLException.class, () -> db.executeUpdate("DELETE FROM student WHERE id = ?", 1));
+            assertEquals(0, pool.getActiveCount());
+        }
+        assertBorrowable();
+    }
+
+    @Test
+    public void failedPrepareInStreamingQueryReleasesTheConnection() throws SQLException {
+        for (int i = 0; i < POOL_SIZE * 3; i++) {
+            assertThrows(SQLException.class, () -> db.queryStreaming("SELECT * FROM student", rs -> null));
+            assertEquals(0, pool.getActiveCount());
+        }
+        assertBorrowable();
+    }
+
+    @Test
+    public void batchSentOnABorrowedConnectionIsRecorded() {
+        String sql = "COPY student (first_name, last_name, age, grade) FROM STDIN WITH (FORMAT csv)";
+        DatabaseQueryEvent event = new DatabaseQueryEvent();
+        event.begin();
+        db.recordBatch(event, "copy", sql, 1_000_000, 3, 3);
+        assertEquals(3, event.rowCount);
+        QueryStats.Snapshot snapshot = db.getQueryStats().top(1).get(0);
+        assertEquals(sql, snapshot.getSql());
+        assertEquals(1, snapshot.getCount());
+    }
+
+    private void assertBorrowable() throws SQLException {
+        Connection[] connections = new Connection[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            connections[i] = pool.borrow();
+        }
+        for (Connection connection : connections) {
+            pool.release(connection);
+        }
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    /** Hands out connections that are valid but cannot prepare any statement. */
+    private static final class PrepareFailingDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            boolean[] autoCommit = {true};
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "prepareStatement":
+                                throw new SQLException("prepare failed");
+                            case "isValid":
+                                return true;
+                            case "isClosed":
+                                return false;
+                            case "getAutoCommit":
+                                return autoCommit[0];
+                            case "setAutoCommit":
+                                autoCommit[0] = (Boolean) args[0];
+                                return null;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:tracker-test:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
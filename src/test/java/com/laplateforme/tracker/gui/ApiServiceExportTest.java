@@ -0,0 +1,100 @@
+package com.laplateforme.tracker.gui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApiServiceExportTest {
+    private static final String ROW = "1,John,Doe,20,15.5\n";
+    private static final int ROWS = 10_000;
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private volatile boolean failMidStream;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/students/export", this::export);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void completeExportIsMovedIntoPlace() throws IOException {
+        Path target = dir.resolve("students.csv");
+        assertTrue(service().exportStudents("csv", target.toString()));
+
+        assertEquals(ROWS * ROW.length(), Files.size(target));
+        assertEquals(List.of(target), listDir());
+    }
+
+    @Test
+    public void exportCutShortLeavesNoFileBehind() throws IOException {
+        failMidStream = true;
+        Path target = dir.resolve("students.csv");
+        assertFalse(service().exportStudents("csv", target.toString()));
+
+        assertEquals(List.of(), listDir());
+    }
+
+    @Test
+    public void exportCutShortKeepsThePreviousFile() throws IOException {
+        failMidStream = true;
+        Path target = dir.resolve("students.csv");
+        Files.writeString(target, "previous export");
+        assertFalse(service().exportStudents("csv", target.toString()));
+
+        assertEquals("previous export", Files.readString(target));
+        assertEquals(List.of(target), listDir());
+    }
+
+    private ApiService service() {
+        return new ApiService("http://localhost:" + server.getAddress().getPort());
+    }
+
+    // Mirrors the server's abort: the handler throws once the body is committed,
+    // so the connection drops without the terminating chunk
+    private void export(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/csv");
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = new GZIPOutputStream(exchange.getResponseBody(), 8192);
+        byte[] row = ROW.getBytes(StandardCharsets.UTF_8);
+        int rows = failMidStream ? ROWS / 2 : ROWS;
+        for (int i = 0; i < rows; i++) {
+            out.write(row);
+        }
+        if (failMidStream) {
+            out.flush();
+            throw new IOException("Response aborted");
+        }
+        out.close();
+    }
+
+    private List<Path> listDir() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
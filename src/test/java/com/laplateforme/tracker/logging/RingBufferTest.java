@@ -0,0 +1,103 @@
+package com.laplateforme.tracker.logging;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferTest {
+
+    @Test
+    public void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(8, new RingBuffer<Integer>(8).capacity());
+        assertEquals(8, new RingBuffer<Integer>(5).capacity());
+        assertEquals(1024, new RingBuffer<Integer>(1000).capacity());
+    }
+
+    @Test
+    public void dropsOffersWhileFullAndAcceptsAgainOnceDrained() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(6));
+        assertFalse(buffer.offer(7));
+        for (int expected : new int[] {1, 2, 3, 6}) {
+            assertEquals(expected, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void wrapsAroundManyTimes() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(buffer.offer(i));
+            assertTrue(buffer.offer(-i));
+            assertEquals(i, buffer.poll());
+            assertEquals(-i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void keepsEachProducersOrderWithoutLosingOrDuplicating() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 200_000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(1024);
+        AtomicInteger dropped = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perProducer; i++) {
+                    if (!buffer.offer(new long[] {producer, i})) {
+                        dropped.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+
+        // Single consumer: per producer, sequence numbers must strictly increase
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        long received = 0;
+        while (threads.stream().anyMatch(Thread::isAlive) || received + dropped.get() < (long) producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = (int) element[0];
+            assertTrue(element[1] > lastSeen[producer], "producer " + producer + " out of order");
+            lastSeen[producer] = element[1];
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(buffer.poll());
+        assertEquals((long) producers * perProducer, received + dropped.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
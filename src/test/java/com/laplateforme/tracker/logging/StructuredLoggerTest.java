@@ -0,0 +1,83 @@
+package com.laplateforme.tracker.logging;
+
+import com.laplateforme.tracker.utils.JsonWriter;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StructuredLoggerTest {
+
+    @Test
+    public void writesOneJsonLinePerEvent() {
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        json = StructuredLogger.writeOrReset(out, json, event("student.add", "success", true, "id", 7));
+
+        assertSame(json, StructuredLogger.writeOrReset(out, json, event("student.delete", "id", 8)));
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"event\":\"student.add\"") && lines[0].endsWith("\"id\":7}"), lines[0]);
+    }
+
+    @Test
+    public void recoversFromAFieldThatFailsToFormat() {
+        StringWriter out = new StringWriter();
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("boom");
+            }
+        };
+        JsonWriter json = new JsonWriter(out);
+        json = StructuredLogger.writeOrReset(out, json, event("bad", "value", broken));
+        StructuredLogger.writeOrReset(out, json, event("good", "id", 1));
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{") && lines[1].endsWith("\"id\":1}"), lines[1]);
+    }
+
+    @Test
+    public void recoversFromAnIoErrorMidEvent() {
+        FlakyWriter out = new FlakyWriter();
+        JsonWriter json = new JsonWriter(out);
+        out.failNext = true;
+        json = StructuredLogger.writeOrReset(out, json, event("lost", "id", 1));
+        StructuredLogger.writeOrReset(out, json, event("kept", "id", 2));
+
+        String text = out.buffer.toString();
+        String last = text.substring(text.lastIndexOf('\n', text.length() - 2) + 1).trim();
+        assertTrue(last.startsWith("{") && last.contains("\"event\":\"kept\"") && last.endsWith("}"), text);
+    }
+
+    private static StructuredLogger.Event event(String name, Object... fields) {
+        return new StructuredLogger.Event(0L, StructuredLogger.Level.INFO, "Test", name, "main", fields);
+    }
+
+    /** Fails one write once {@link #failNext} is set, after letting a few through. */
+    private static final class FlakyWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private boolean failNext;
+        private int writes;
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (failNext && ++writes == 3) {
+                failNext = false;
+                throw new IOException("disk full");
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
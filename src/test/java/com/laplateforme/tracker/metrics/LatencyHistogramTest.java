@@ -0,0 +1,110 @@
+package com.laplateforme.tracker.metrics;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesHaveTheirOwnBucket() {
+        for (int v = 0; v < 8; v++) {
+            assertEquals(v, LatencyHistogram.bucketIndex(v));
+            assertEquals(v, LatencyHistogram.bucketUpperBound(v));
+        }
+    }
+
+    @Test
+    public void bucketsTileTheWholeRangeWithoutGaps() {
+        int last = LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+        long lower = 0;
+        for (int i = 0; i <= last; i++) {
+            long upper = LatencyHistogram.bucketUpperBound(i);
+            assertTrue(upper >= lower, "bucket " + i);
+            assertEquals(i, LatencyHistogram.bucketIndex(lower), "lower bound of bucket " + i);
+            assertEquals(i, LatencyHistogram.bucketIndex(upper), "upper bound of bucket " + i);
+            // Every bucket spans less than an eighth of its lower bound
+            assertTrue(upper - lower <= lower / 8, "width of bucket " + i);
+            lower = upper + 1;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(last));
+    }
+
+    @Test
+    public void powersOfTwoStartANewBucket() {
+        for (int bit = 3; bit < 63; bit++) {
+            long power = 1L << bit;
+            assertEquals(LatencyHistogram.bucketIndex(power - 1) + 1, LatencyHistogram.bucketIndex(power), "2^" + bit);
+        }
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void negativeValuesCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void quantilesAreWithinAnEighthAboveTheExactValue() {
+        Random random = new Random(42);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform from nanoseconds to minutes
+            values[i] = (long) Math.exp(random.nextDouble() * Math.log(60e9));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[] {0.001, 0.1, 0.5, 0.9, 0.99, 0.999, 1.0}) {
+            long exact = values[(int) Math.ceil(quantile * values.length) - 1];
+            long estimate = histogram.getValueAtQuantile(quantile);
+            assertTrue(estimate >= exact, "q" + quantile + ": " + estimate + " < " + exact);
+            assertTrue(estimate - exact <= exact / 8, "q" + quantile + ": " + estimate + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void concurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 100_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    histogram.record(i * threads + offset);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long n = (long) threads * perThread;
+        // Recorded values are exactly threads..threads * (perThread + 1) - 1
+        long expectedSum = (threads + threads * (perThread + 1L) - 1) * n / 2;
+        assertEquals(n, histogram.getCount());
+        assertEquals(expectedSum, histogram.getSum());
+        assertEquals(threads * (perThread + 1L) - 1, histogram.getMax());
+        assertEquals(histogram.getMax(), histogram.getValueAtQuantile(1.0));
+    }
+}
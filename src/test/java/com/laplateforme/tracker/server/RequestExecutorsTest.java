@@ -0,0 +1,47 @@
+package com.laplateforme.tracker.server;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestExecutorsTest {
+
+    @Test
+    public void overflowRunsOffTheSubmittingThreadFlaggedForShedding() throws Exception {
+        Executor threadPerTask = task -> new Thread(task).start();
+        RequestExecutors.LimitedExecutor executor = new RequestExecutors.LimitedExecutor(
+                threadPerTask, 1, 0, RequestExecutors.overflowPool(4));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> admittedFlag = new CompletableFuture<>();
+        executor.execute(() -> {
+            admittedFlag.complete(RequestExecutors.isOverflow());
+            awaitQuietly(release);
+        });
+        assertFalse(admittedFlag.get(5, TimeUnit.SECONDS));
+
+        Thread submitter = Thread.currentThread();
+        CompletableFuture<Thread> overflowThread = new CompletableFuture<>();
+        CompletableFuture<Boolean> overflowFlag = new CompletableFuture<>();
+        executor.execute(() -> {
+            overflowFlag.complete(RequestExecutors.isOverflow());
+            overflowThread.complete(Thread.currentThread());
+        });
+
+        assertTrue(overflowFlag.get(5, TimeUnit.SECONDS));
+        assertNotSame(submitter, overflowThread.get());
+        assertFalse(RequestExecutors.isOverflow());
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.laplateforme.tracker.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerConfigTest {
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @AfterEach
+    public void restore() {
+        Locale.setDefault(defaultLocale);
+        // fromArgs publishes its settings as system properties
+        System.clearProperty("tracker.server.executor");
+    }
+
+    @Test
+    public void executorModeIgnoresTheDefaultLocale() throws IOException {
+        // Turkish upper-cases "i" to a dotted capital I, which no enum constant uses
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        assertEquals(ServerConfig.ExecutorMode.VIRTUAL,
+                ServerConfig.fromArgs(new String[] {"--executor=virtual"}).getExecutorMode());
+        assertEquals(ServerConfig.ExecutorMode.DISPATCHER,
+                ServerConfig.fromArgs(new String[] {"--executor=dispatcher"}).getExecutorMode());
+    }
+}
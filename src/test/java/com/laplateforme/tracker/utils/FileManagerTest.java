@@ -0,0 +1,57 @@
+package com.laplateforme.tracker.utils;
+
+import com.laplateforme.tracker.model.Student;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileManagerTest {
+    private static final String HEADER = "ID,Prénom,Nom,Âge,Note\n";
+
+    private final FileManager fileManager = new FileManager();
+
+    @Test
+    public void importReportsShortAndNonNumericRowsWithTheirLineNumber() throws IOException {
+        String csv = HEADER
+                + "1,John,Doe,20,15.50\n"
+                + "2,Jane,Doe\n"
+                + "3,Ann,Lee,twenty,12.00\n"
+                + "\n"
+                + "4,Bob,Ray,21,\n"
+                + "5,Eve,Kim,22,18.25\n";
+        List<Student> students = new ArrayList<>();
+        Map<Integer, String> malformed = new LinkedHashMap<>();
+        fileManager.readCSV(new StringReader(csv), students::add, (line, lineNumber) -> malformed.put(lineNumber, line));
+
+        assertEquals(List.of(1, 5), students.stream().map(Student::getId).toList());
+        assertEquals(Map.of(3, "2,Jane,Doe", 4, "3,Ann,Lee,twenty,12.00", 6, "4,Bob,Ray,21,"), malformed);
+    }
+
+    @Test
+    public void strictImportRejectsTruncatedRows() {
+        String csv = HEADER + "1,John,Doe,20,15.50\n2,Jane\n";
+        NumberFormatException e = assertThrows(NumberFormatException.class,
+                () -> fileManager.readCSV(new StringReader(csv), student -> { }));
+        assertTrue(e.getMessage().contains("line 3"), e.getMessage());
+    }
+
+    @Test
+    public void exportReadsBack() throws Exception {
+        List<Student> students = List.of(new Student(1, "John", "Doe", 20, 15.5), new Student(2, "Zoé", "Ünal", 23, 9.0));
+        StringWriter out = new StringWriter();
+        fileManager.writeCSV(students::forEach, out);
+
+        List<Student> read = new ArrayList<>();
+        fileManager.readCSV(new StringReader(out.toString()), read::add);
+        assertEquals(2, read.size());
+        assertEquals("Ünal", read.get(1).getLastName());
+        assertEquals(15.5, read.get(0).getGrade());
+    }
+}